@@ -0,0 +1,37 @@
+package ua.in.asilichenko.antcolony.benchmarks;
+
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.NearestNeighbours;
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
+import ua.in.asilichenko.antcolony.service.AntColonyWithCostFunction;
+
+import java.util.List;
+
+/**
+ * Colony which exposes its pheromone update to benchmarks.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+final class BenchmarkColony extends AntColonyWithCostFunction {
+
+    /**
+     * @param costFunction    cost measurer
+     * @param pheromoneMatrix pheromone matrix
+     * @param size            number of vertices
+     * @param neighbours      candidates ants choose among, null - all vertices
+     */
+    BenchmarkColony(CostFunction costFunction, PheromoneMatrix pheromoneMatrix, int size, NearestNeighbours neighbours) {
+        super(costFunction, 1, 2, pheromoneMatrix, size, neighbours);
+    }
+
+    @Override
+    public void addPheromone(List<Ant> ants) {
+        super.addPheromone(ants);
+    }
+}
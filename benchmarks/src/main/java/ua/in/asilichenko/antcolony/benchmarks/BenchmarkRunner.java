@@ -0,0 +1,31 @@
+package ua.in.asilichenko.antcolony.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runner of the benchmarks which always reports allocation rate by the GC profiler.
+ * <p>
+ * Accepts the usual JMH command line, e.g. {@code java -jar benchmarks.jar EuclideanBenchmark -p size=1000}.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,79 @@
+package ua.in.asilichenko.antcolony.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.NearestNeighbours;
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.DoublePheromoneMatrix;
+import ua.in.asilichenko.antcolony.domain.SparsePheromoneMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tour construction and pheromone update on random Euclidean instances.
+ * <p>
+ * By default ants choose among 16 candidates with a sparse pheromone matrix.
+ * Dense mode ({@code -p candidates=0}) keeps three n x n arrays, so 20000 vertices need about 10 GB of heap.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class EuclideanBenchmark {
+
+    /**
+     * Number of ants whose pheromone is deposited at once.
+     */
+    private static final int ANTS = 32;
+
+    @Param({"100", "1000", "5000", "20000"})
+    public int size;
+
+    @Param({"16"})
+    public int candidates;
+
+    private BenchmarkColony colony;
+    private List<Ant> ants;
+
+    @Setup
+    public void setup() {
+        final CostFunction costFunction = Instances.randomEuclidean(size);
+        final NearestNeighbours neighbours = candidates > 0 ? new NearestNeighbours(costFunction, size, candidates) : null;
+        colony = new BenchmarkColony(costFunction,
+                null == neighbours ? new DoublePheromoneMatrix(size, Instances.RHO) : new SparsePheromoneMatrix(neighbours, Instances.RHO),
+                size, neighbours);
+        ants = new ArrayList<>();
+        for (int k = 0; k < ANTS; k++) ants.add(colony.trace());
+    }
+
+    @Benchmark
+    public Ant trace() {
+        return colony.trace();
+    }
+
+    @Benchmark
+    public void addPheromone() {
+        colony.addPheromone(ants);
+    }
+}
@@ -0,0 +1,78 @@
+package ua.in.asilichenko.antcolony.benchmarks;
+
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.EuclideanCostFunction;
+import ua.in.asilichenko.antcolony.cost.MatrixCostFunction;
+import ua.in.asilichenko.antcolony.samples.Sample;
+
+import java.util.SplittableRandom;
+
+/**
+ * Instances measured by benchmarks.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+final class Instances {
+
+    /**
+     * Side of the square random vertices are placed into.
+     */
+    private static final double SIDE = 1_000_000;
+
+    /**
+     * Evaporation speed of benchmarked pheromone matrices.
+     * It does not affect the work, but zero keeps levels repeatedly evaporated by millions of invocations
+     * away from subnormal values, whose arithmetic is many times slower and would distort the measurement.
+     */
+    static final double RHO = 0;
+
+    /**
+     * Seed of random instances, so every run measures the same instances.
+     */
+    private static final long SEED = 42;
+
+    private Instances() {
+    }
+
+    /**
+     * @param name name of the bundled sample, e.g. SAMPLE_26
+     * @return bundled sample
+     */
+    static Sample sample(String name) {
+        return switch (name) {
+            case "SAMPLE_5" -> Sample.SAMPLE_5;
+            case "SAMPLE_6" -> Sample.SAMPLE_6;
+            case "SAMPLE_17" -> Sample.SAMPLE_17;
+            case "SAMPLE_26" -> Sample.SAMPLE_26;
+            default -> throw new IllegalArgumentException("Unknown sample: " + name);
+        };
+    }
+
+    /**
+     * @param name name of the bundled sample
+     * @return costs of the bundled sample
+     */
+    static CostFunction sampleCosts(String name) {
+        return new MatrixCostFunction(sample(name).costMtx());
+    }
+
+    /**
+     * @param size number of vertices
+     * @return vertices uniformly distributed in a square, Euclidean costs
+     */
+    static CostFunction randomEuclidean(int size) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final double[] x = new double[size];
+        final double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = random.nextDouble(SIDE);
+            y[i] = random.nextDouble(SIDE);
+        }
+        return new EuclideanCostFunction(x, y);
+    }
+}
@@ -0,0 +1,87 @@
+package ua.in.asilichenko.antcolony.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.ArrayPheromoneMatrix;
+import ua.in.asilichenko.antcolony.domain.Probability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Hot paths of the colony on the bundled samples, with the original array pheromone matrix.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SampleBenchmark {
+
+    @Param({"SAMPLE_5", "SAMPLE_6", "SAMPLE_17", "SAMPLE_26"})
+    public String sample;
+
+    private BenchmarkColony colony;
+    private ArrayPheromoneMatrix pheromoneMatrix;
+    private List<Integer> edges;
+    private List<Ant> ants;
+    private int size;
+
+    @Setup
+    public void setup() {
+        size = Instances.sample(sample).costMtx().length;
+        pheromoneMatrix = new ArrayPheromoneMatrix(new double[size][size], Instances.RHO);
+        colony = new BenchmarkColony(Instances.sampleCosts(sample), pheromoneMatrix, size, null);
+        edges = IntStream.range(1, size).boxed().toList();
+        ants = new ArrayList<>();
+        for (int k = 0; k < size; k++) ants.add(colony.trace());
+    }
+
+    @Benchmark
+    public Ant trace() {
+        return colony.trace();
+    }
+
+    @Benchmark
+    public List<Probability> calcProbabilities() {
+        return colony.calcProbabilities(0, edges);
+    }
+
+    @Benchmark
+    public void addPheromone() {
+        colony.addPheromone(ants);
+    }
+
+    @Benchmark
+    public void evaporate() {
+        pheromoneMatrix.evaporate();
+    }
+
+    /**
+     * A single iteration of as many ants as vertices on the common pool.
+     */
+    @Benchmark
+    public Ant search() {
+        return colony.search(size, 1);
+    }
+}
@@ -0,0 +1,70 @@
+package ua.in.asilichenko.antcolony.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.NearestNeighbours;
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.SparsePheromoneMatrix;
+import ua.in.asilichenko.antcolony.service.WorkerPool;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single iteration of the full search on random Euclidean instances, sweeping the number of worker threads.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SearchBenchmark {
+
+    @Param({"1000", "5000", "20000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"32"})
+    public int ants;
+
+    private BenchmarkColony colony;
+    private WorkerPool workers;
+
+    @Setup
+    public void setup() {
+        final CostFunction costFunction = Instances.randomEuclidean(size);
+        final NearestNeighbours neighbours = new NearestNeighbours(costFunction, size, 16);
+        colony = new BenchmarkColony(costFunction, new SparsePheromoneMatrix(neighbours, Instances.RHO), size, neighbours);
+        workers = WorkerPool.fixed(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workers.close();
+    }
+
+    @Benchmark
+    public Ant search() {
+        return colony.search(ants, 1, workers);
+    }
+}
@@ -0,0 +1,76 @@
+package ua.in.asilichenko;
+
+import com.google.common.base.Stopwatch;
+import ua.in.asilichenko.AntColonyMain.Config;
+import ua.in.asilichenko.antcolony.cost.NearestNeighbours;
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.DoublePheromoneMatrix;
+import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
+import ua.in.asilichenko.antcolony.domain.SparsePheromoneMatrix;
+import ua.in.asilichenko.antcolony.service.AntColony;
+import ua.in.asilichenko.antcolony.service.AntColonyWithCostFunction;
+import ua.in.asilichenko.antcolony.tsplib.TspLibInstance;
+import ua.in.asilichenko.antcolony.tsplib.TspLibLoader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Command line runner of Ant Colony search on a TSPLIB instance.
+ * <p>
+ * Usage: {@code AntColonyCli <file.tsp> <threads> <iterations> <alpha> <beta> <rho> [candidates]}
+ * <p>
+ * With candidates pheromones are stored only for candidate edges, so large instances fit in memory.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class AntColonyCli {
+
+    private static final String USAGE = "Usage: AntColonyCli <file.tsp> <threads> <iterations> <alpha> <beta> <rho> [candidates]";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 6) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        final Config config = new Config(
+                Integer.parseInt(args[1]),
+                Long.parseLong(args[2]),
+
+                Double.parseDouble(args[3]),
+                Double.parseDouble(args[4]),
+                Double.parseDouble(args[5])
+        );
+        final int candidates = args.length > 6 ? Integer.parseInt(args[6]) : 0;
+
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final TspLibInstance instance = TspLibLoader.load(Path.of(args[0]));
+        System.out.println(instance.name() + ": " + instance.dimension() + " vertices loaded in " + stopwatch.elapsed());
+
+        stopwatch.reset().start();
+        final int n = instance.dimension();
+        final NearestNeighbours neighbours = candidates > 0
+                ? new NearestNeighbours(instance.costFunction(), n, candidates)
+                : null;
+        final PheromoneMatrix pheromoneMatrix = null == neighbours
+                ? new DoublePheromoneMatrix(n, config.rho())
+                : new SparsePheromoneMatrix(neighbours, config.rho());
+        final AntColony antColony = new AntColonyWithCostFunction(
+                instance.costFunction(),
+                config.alpha(),
+                config.beta(),
+                pheromoneMatrix,
+                n,
+                neighbours);
+
+        final Ant bestAnt = antColony.search(config.threads(), config.iterations());
+        System.out.println("Search finished in " + stopwatch.elapsed());
+        System.out.println(Arrays.toString(bestAnt.path()) + "\t" + bestAnt.totalCost());
+    }
+}
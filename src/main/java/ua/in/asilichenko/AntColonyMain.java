@@ -10,6 +10,7 @@ import ua.in.asilichenko.antcolony.service.AntColonyWithCostFunction;
 import ua.in.asilichenko.antcolony.util.StringUtils;
 
 import java.time.LocalTime;
+import java.util.Arrays;
 
 import static ua.in.asilichenko.antcolony.samples.Sample.*;
 
@@ -125,7 +126,7 @@ public class AntColonyMain {
         System.out.println(pheromoneMtxString);
 
         System.out.println();
-        System.out.println(bestAnt.path() + "\t" + bestAnt.totalCost());
+        System.out.println(Arrays.toString(bestAnt.path()) + "\t" + bestAnt.totalCost());
         System.out.println("Expected: " + sample.expected());
         System.out.println();
     }
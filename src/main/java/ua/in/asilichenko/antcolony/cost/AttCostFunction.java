@@ -0,0 +1,31 @@
+package ua.in.asilichenko.antcolony.cost;
+
+/**
+ * Pseudo-Euclidean distance (TSPLIB ATT).
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class AttCostFunction extends CoordinateCostFunction {
+
+    /**
+     * @param x x coordinates of vertices
+     * @param y y coordinates of vertices
+     */
+    public AttCostFunction(double[] x, double[] y) {
+        super(x, y);
+    }
+
+    @Override
+    public long cost(int i, int j) {
+        final double dx = x[i] - x[j];
+        final double dy = y[i] - y[j];
+        final double r = Math.sqrt((dx * dx + dy * dy) / 10.0);
+        final long t = (long) (r + 0.5);
+        return t < r ? t + 1 : t;
+    }
+}
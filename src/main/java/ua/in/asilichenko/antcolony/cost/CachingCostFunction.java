@@ -0,0 +1,284 @@
+package ua.in.asilichenko.antcolony.cost;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * A bounded cache of edge costs in front of another cost function.
+ * <p>
+ * Is worth using for cost functions that are expensive comparing to a table lookup (e.g. {@link GeoCostFunction}).
+ * The cache is set-associative: every edge may be kept in any of {@link #WAYS} slots of its set,
+ * a missing edge replaces the one chosen by CLOCK within the set, so recently used edges survive
+ * like in LRU but a hit costs only a flag write. Edges are packed into primitive long keys, nothing is boxed.
+ * Slots are split into stripes guarded by separate locks, so concurrent ants rarely wait for each other.
+ * Changed costs are written through, both directions of the edge are evicted.
+ * A cost obtained on a miss is cached only if no edge of its stripe was evicted meanwhile,
+ * so a cost read before a concurrent change never survives it.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class CachingCostFunction extends CostFunction {
+
+    /**
+     * Number of slots of a set.
+     */
+    public static final int WAYS = 8;
+
+    /**
+     * Key of an empty slot, edges always have non-negative keys.
+     */
+    private static final long EMPTY = -1;
+
+    /**
+     * Cost function whose costs are cached.
+     */
+    private final CostFunction costFunction;
+
+    /**
+     * Stripes of the cache.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * Mask to obtain a stripe from a hash.
+     */
+    private final int stripeMask;
+
+    /**
+     * Shift of a hash to obtain a set in a stripe.
+     */
+    private final int setShift;
+
+    /**
+     * Mask to obtain a set in a stripe from a shifted hash.
+     */
+    private final int setMask;
+
+    /**
+     * Number of costs found in the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of costs obtained from the cost function.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param costFunction cost function whose costs are cached
+     * @param capacity     maximum number of cached edges, is rounded up to a power of two not less than {@link #WAYS}
+     */
+    public CachingCostFunction(CostFunction costFunction, int capacity) {
+        this.costFunction = costFunction;
+
+        final int sets = powerOfTwo(Math.max(WAYS, Math.min(capacity, 1 << 30))) / WAYS;
+        final int stripeCount = Math.min(powerOfTwo(4 * Runtime.getRuntime().availableProcessors()), sets);
+        final int setCount = sets / stripeCount;
+        this.stripes = new Stripe[stripeCount];
+        for (int s = 0; s < stripeCount; s++) stripes[s] = new Stripe(setCount);
+        this.stripeMask = stripeCount - 1;
+        this.setShift = Integer.numberOfTrailingZeros(stripeCount);
+        this.setMask = setCount - 1;
+    }
+
+    /**
+     * @param value positive value
+     * @return the smallest power of two that is not less than the value
+     */
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * @return number of costs found in the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of costs obtained from the cost function, prefetched ones are not counted
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Load costs of all edges from the vertex in parallel, e.g. before ants start from it.
+     *
+     * @param i    vertex
+     * @param size number of vertices
+     */
+    public void prefetch(int i, int size) {
+        IntStream.range(0, size).parallel().forEach(j -> {
+            if (j != i) lookup(i, j, false);
+        });
+    }
+
+    @Override
+    public void set(int i, int j, long cost) {
+        costFunction.set(i, j, cost);
+        evict(i, j);
+        evict(j, i);
+    }
+
+    @Override
+    public boolean accepts(long cost) {
+        return costFunction.accepts(cost);
+    }
+
+    @Override
+    public long cost(int i, int j) {
+        return lookup(i, j, true);
+    }
+
+    /**
+     * Obtain a cost from the cache, or from the cost function and cache it unless the stripe changed meanwhile.
+     *
+     * @param i     vertex
+     * @param j     vertex
+     * @param count whether to count the hit or miss
+     * @return cost of (i, j) edge
+     */
+    private long lookup(int i, int j, boolean count) {
+        final long key = ((long) i << 32) | j;
+        final int hash = hash(key);
+        final Stripe stripe = stripes[hash & stripeMask];
+        final int set = (hash >>> setShift) & setMask;
+
+        final long version;
+        synchronized (stripe) {
+            final int slot = stripe.find(set, key);
+            if (slot >= 0) {
+                stripe.referenced[slot] = true;
+                if (count) hits.increment();
+                return stripe.costs[slot];
+            }
+            version = stripe.version;
+        }
+        if (count) misses.increment();
+        final long cost = costFunction.cost(i, j);
+        synchronized (stripe) {
+            if (stripe.version == version && stripe.find(set, key) < 0) stripe.put(set, key, cost);
+        }
+        return cost;
+    }
+
+    /**
+     * Remove the edge from the cache.
+     *
+     * @param i vertex
+     * @param j vertex
+     */
+    private void evict(int i, int j) {
+        final long key = ((long) i << 32) | j;
+        final int hash = hash(key);
+        final Stripe stripe = stripes[hash & stripeMask];
+        final int set = (hash >>> setShift) & setMask;
+        synchronized (stripe) {
+            stripe.version++;
+            final int slot = stripe.find(set, key);
+            if (slot < 0) return;
+            stripe.keys[slot] = EMPTY;
+            stripe.referenced[slot] = false;
+        }
+    }
+
+    /**
+     * Spread bits of the edge key.
+     *
+     * @param key packed edge
+     * @return hash of the edge
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Sets of slots guarded by the same lock, slots of the set s are at [s * WAYS, (s + 1) * WAYS).
+     */
+    private static final class Stripe {
+
+        /**
+         * Packed edges (i << 32 | j) of the slots.
+         */
+        private final long[] keys;
+
+        /**
+         * Costs of the edges of the slots.
+         */
+        private final long[] costs;
+
+        /**
+         * Whether the slot was used since the clock hand passed it.
+         */
+        private final boolean[] referenced;
+
+        /**
+         * Clock hand of every set, a way of the next candidate to replace.
+         */
+        private final byte[] hands;
+
+        /**
+         * Number of evictions, costs obtained before an eviction are not cached after it.
+         */
+        private long version;
+
+        /**
+         * @param sets number of sets
+         */
+        private Stripe(int sets) {
+            this.keys = new long[sets * WAYS];
+            this.costs = new long[sets * WAYS];
+            this.referenced = new boolean[sets * WAYS];
+            this.hands = new byte[sets];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        /**
+         * @param set set of the edge
+         * @param key packed edge
+         * @return slot of the edge, negative if it is not cached
+         */
+        private int find(int set, long key) {
+            final int from = set * WAYS;
+            for (int slot = from; slot < from + WAYS; slot++) {
+                if (keys[slot] == key) return slot;
+            }
+            return -1;
+        }
+
+        /**
+         * Cache the edge in an empty slot of the set, or in place of the first slot
+         * not referenced since the clock hand passed it, clearing references on the way.
+         *
+         * @param set  set of the edge
+         * @param key  packed edge
+         * @param cost cost of the edge
+         */
+        private void put(int set, long key, long cost) {
+            final int from = set * WAYS;
+            int slot = from;
+            while (slot < from + WAYS && keys[slot] != EMPTY) slot++;
+            if (slot == from + WAYS) {
+                int hand = hands[set];
+                while (referenced[from + hand]) {
+                    referenced[from + hand] = false;
+                    hand = (hand + 1) % WAYS;
+                }
+                slot = from + hand;
+                hands[set] = (byte) ((hand + 1) % WAYS);
+            }
+            keys[slot] = key;
+            costs[slot] = cost;
+            referenced[slot] = false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ua.in.asilichenko.antcolony.cost;
+
+/**
+ * Euclidean distance rounded up to the next integer (TSPLIB CEIL_2D).
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class CeilEuclideanCostFunction extends CoordinateCostFunction {
+
+    /**
+     * @param x x coordinates of vertices
+     * @param y y coordinates of vertices
+     */
+    public CeilEuclideanCostFunction(double[] x, double[] y) {
+        super(x, y);
+    }
+
+    @Override
+    public long cost(int i, int j) {
+        final double dx = x[i] - x[j];
+        final double dy = y[i] - y[j];
+        return (long) Math.ceil(Math.sqrt(dx * dx + dy * dy));
+    }
+}
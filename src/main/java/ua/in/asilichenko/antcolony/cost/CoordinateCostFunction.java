@@ -0,0 +1,42 @@
+package ua.in.asilichenko.antcolony.cost;
+
+/**
+ * A cost function that calculates costs on the fly from coordinates of vertices,
+ * so it needs memory proportional to the number of vertices instead of the full cost matrix.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public abstract class CoordinateCostFunction extends CostFunction {
+
+    /**
+     * X coordinates of vertices.
+     */
+    protected final double[] x;
+
+    /**
+     * Y coordinates of vertices.
+     */
+    protected final double[] y;
+
+    /**
+     * @param x x coordinates of vertices
+     * @param y y coordinates of vertices
+     */
+    protected CoordinateCostFunction(double[] x, double[] y) {
+        if (x.length != y.length) throw new IllegalArgumentException("Number of x and y coordinates differs");
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @return number of vertices
+     */
+    public int size() {
+        return x.length;
+    }
+}
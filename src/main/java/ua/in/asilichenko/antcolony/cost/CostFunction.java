@@ -20,4 +20,26 @@ public abstract class CostFunction {
      * @return cost of (i, j) edge
      */
     public abstract long cost(int i, int j);
+
+    /**
+     * Change a cost of the edge, costs are immutable by default.
+     *
+     * @param i    vertex
+     * @param j    vertex
+     * @param cost new cost of (i, j) edge
+     * @throws UnsupportedOperationException if costs are immutable
+     */
+    public void set(int i, int j, long cost) {
+        throw new UnsupportedOperationException("Immutable costs: " + getClass().getSimpleName());
+    }
+
+    /**
+     * Whether {@link #set(int, int, long)} can store the cost, e.g. to validate changes before applying them.
+     *
+     * @param cost new cost of an edge
+     * @return false by default, as costs are immutable
+     */
+    public boolean accepts(long cost) {
+        return false;
+    }
 }
@@ -0,0 +1,17 @@
+package ua.in.asilichenko.antcolony.cost;
+
+/**
+ * New cost of an edge, e.g. from a traffic update.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @param i    vertex
+ * @param j    vertex
+ * @param cost new cost of (i, j) edge
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public record EdgeCost(int i, int j, long cost) {
+}
@@ -0,0 +1,159 @@
+package ua.in.asilichenko.antcolony.cost;
+
+/**
+ * Base class of cost functions that store costs in a single flat array of the narrowest sufficient width.
+ * <p>
+ * Costs are stored relative to a bias, so any range of 65536 values fits 2 bytes per edge
+ * and any range of 2^32 values fits 4 bytes, comparing to 8 bytes per edge and an array per row of {@link MatrixCostFunction}.
+ * Square matrices store the edge (i, j) at i * size + j,
+ * symmetric ones store only the upper triangle (diagonal included) packed row by row.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public abstract class FlatCostFunction extends CostFunction {
+
+    /**
+     * Number of vertices.
+     */
+    protected final int size;
+
+    /**
+     * Store only the upper triangle.
+     */
+    protected final boolean symmetric;
+
+    /**
+     * Number of stored costs.
+     */
+    protected final int cells;
+
+    /**
+     * Minimum cost that can be stored.
+     */
+    private final long min;
+
+    /**
+     * Maximum cost that can be stored.
+     */
+    private final long max;
+
+    /**
+     * Difference between a cost and its stored value.
+     */
+    private final long bias;
+
+    /**
+     * @param size      number of vertices
+     * @param symmetric store only the upper triangle
+     * @param min       minimum cost
+     * @param max       maximum cost
+     * @param bytes     bytes per stored cost: 2, 4 or 8, the range of costs must fit them
+     */
+    protected FlatCostFunction(int size, boolean symmetric, long min, long max, int bytes) {
+        final long cells = symmetric ? (long) size * (size + 1) / 2 : (long) size * size;
+        if (cells > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many vertices: " + size);
+        if (bytes < bytes(min, max)) throw new IllegalArgumentException("Costs [" + min + ", " + max + "] do not fit " + bytes + " bytes");
+
+        this.size = size;
+        this.symmetric = symmetric;
+        this.cells = (int) cells;
+        this.min = min;
+        this.max = max;
+        this.bias = bytes == Long.BYTES ? 0 : min + (1L << (8 * bytes - 1));
+    }
+
+    /**
+     * Create the most compact on-heap storage for costs of the range,
+     * costs out of int range are stored by {@link MatrixCostFunction} or {@link SymmetricMatrixCostFunction}.
+     * The storage accepts any cost its width can hold, not only the given range,
+     * from 0 if possible for non-negative costs, so costs may change later within the headroom.
+     *
+     * @param size      number of vertices
+     * @param min       minimum cost
+     * @param max       maximum cost
+     * @param symmetric whether costs are symmetric
+     * @return cost function to be filled by {@link #set(int, int, long)}
+     */
+    public static CostFunction narrowest(int size, long min, long max, boolean symmetric) {
+        if (min > max) min = max = 0;
+        final int bytes = bytes(min, max);
+        if (bytes == Long.BYTES) {
+            return symmetric ? new SymmetricMatrixCostFunction(size) : new MatrixCostFunction(new long[size][size]);
+        }
+
+        final long capacity = (1L << (8 * bytes)) - 1;
+        final long from = min >= 0 ? Math.max(0, max - capacity) : min;
+        return bytes == Short.BYTES
+                ? new ShortMatrixCostFunction(size, symmetric, from, from + capacity)
+                : new IntMatrixCostFunction(size, symmetric, from, from + capacity);
+    }
+
+    /**
+     * @param min minimum cost
+     * @param max maximum cost
+     * @return bytes per stored cost sufficient for the range: 2, 4 or 8
+     */
+    protected static int bytes(long min, long max) {
+        final long range = max - min;
+        if (range < 0) return Long.BYTES; // overflow
+        if (range <= 0xFFFFL) return Short.BYTES;
+        if (range <= 0xFFFFFFFFL) return Integer.BYTES;
+        return Long.BYTES;
+    }
+
+    /**
+     * Position of the edge in the storage.
+     *
+     * @param i vertex
+     * @param j vertex
+     * @return index of the (i, j) edge
+     */
+    protected final int index(int i, int j) {
+        if (!symmetric) return i * size + j;
+        if (i > j) {
+            final int k = i;
+            i = j;
+            j = k;
+        }
+        return (int) ((long) i * (2 * size - i + 1) / 2) + j - i;
+    }
+
+    /**
+     * @param index index of the cost
+     * @return stored value
+     */
+    protected abstract long getAt(int index);
+
+    /**
+     * @param index index of the cost
+     * @param value value to store, fits the width
+     */
+    protected abstract void setAt(int index, long value);
+
+    @Override
+    public long cost(int i, int j) {
+        return getAt(index(i, j)) + bias;
+    }
+
+    /**
+     * @return whether the cost is in the range given at creation
+     */
+    @Override
+    public boolean accepts(long cost) {
+        return cost >= min && cost <= max;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cost is out of the range given at creation
+     */
+    @Override
+    public void set(int i, int j, long cost) {
+        if (cost < min || cost > max) throw new IllegalArgumentException("Cost out of [" + min + ", " + max + "]: " + cost);
+        setAt(index(i, j), cost - bias);
+    }
+}
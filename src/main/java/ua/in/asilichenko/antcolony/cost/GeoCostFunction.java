@@ -0,0 +1,71 @@
+package ua.in.asilichenko.antcolony.cost;
+
+/**
+ * Geographical distance in kilometers (TSPLIB GEO).
+ * <p>
+ * Coordinates are given as DDD.MM (degrees and minutes) of latitude (x) and longitude (y),
+ * they are converted to radians once at creation.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class GeoCostFunction extends CoordinateCostFunction {
+
+    /**
+     * Value of PI used by TSPLIB.
+     */
+    private static final double PI = 3.141592;
+
+    /**
+     * Radius of the idealized Earth sphere.
+     */
+    private static final double RRR = 6378.388;
+
+    /**
+     * Latitudes in radians.
+     */
+    private final double[] latitude;
+
+    /**
+     * Longitudes in radians.
+     */
+    private final double[] longitude;
+
+    /**
+     * @param x latitudes of vertices in DDD.MM format
+     * @param y longitudes of vertices in DDD.MM format
+     */
+    public GeoCostFunction(double[] x, double[] y) {
+        super(x, y);
+        this.latitude = new double[x.length];
+        this.longitude = new double[y.length];
+        for (int i = 0; i < x.length; i++) {
+            latitude[i] = radians(x[i]);
+            longitude[i] = radians(y[i]);
+        }
+    }
+
+    /**
+     * Convert DDD.MM coordinate to radians.
+     *
+     * @param coordinate degrees and minutes
+     * @return radians
+     */
+    private static double radians(double coordinate) {
+        final long degrees = (long) coordinate;
+        final double minutes = coordinate - degrees;
+        return PI * (degrees + 5.0 * minutes / 3.0) / 180.0;
+    }
+
+    @Override
+    public long cost(int i, int j) {
+        final double q1 = Math.cos(longitude[i] - longitude[j]);
+        final double q2 = Math.cos(latitude[i] - latitude[j]);
+        final double q3 = Math.cos(latitude[i] + latitude[j]);
+        return (long) (RRR * Math.acos(0.5 * ((1.0 + q1) * q2 - (1.0 - q1) * q3)) + 1.0);
+    }
+}
@@ -0,0 +1,45 @@
+package ua.in.asilichenko.antcolony.cost;
+
+import java.util.Arrays;
+
+/**
+ * A cost function that stores costs in a flat int array, for costs whose range fits int.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class IntMatrixCostFunction extends FlatCostFunction {
+
+    /**
+     * Stored costs.
+     */
+    private final int[] costs;
+
+    /**
+     * Create a function with the minimum costs to be filled by {@link #set(int, int, long)}.
+     *
+     * @param size      number of vertices
+     * @param symmetric store only the upper triangle
+     * @param min       minimum cost
+     * @param max       maximum cost
+     */
+    public IntMatrixCostFunction(int size, boolean symmetric, long min, long max) {
+        super(size, symmetric, min, max, Integer.BYTES);
+        this.costs = new int[cells];
+        Arrays.fill(costs, Integer.MIN_VALUE);
+    }
+
+    @Override
+    protected long getAt(int index) {
+        return costs[index];
+    }
+
+    @Override
+    protected void setAt(int index, long value) {
+        costs[index] = (int) value;
+    }
+}
@@ -24,6 +24,16 @@ public class MatrixCostFunction extends CostFunction {
         this.matrix = matrix;
     }
 
+    @Override
+    public void set(int i, int j, long cost) {
+        matrix[i][j] = cost;
+    }
+
+    @Override
+    public boolean accepts(long cost) {
+        return true;
+    }
+
     @Override
     public long cost(int i, int j) {
         return matrix[i][j];
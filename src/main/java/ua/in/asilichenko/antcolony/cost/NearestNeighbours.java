@@ -0,0 +1,97 @@
+package ua.in.asilichenko.antcolony.cost;
+
+import java.util.stream.IntStream;
+
+/**
+ * Lists of the nearest (cheapest) neighbours of every vertex.
+ * <p>
+ * Neighbours of the vertex i are stored in flat array at [i * count, (i + 1) * count) in ascending order of cost.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class NearestNeighbours {
+
+    /**
+     * Number of vertices.
+     */
+    private final int size;
+
+    /**
+     * Number of neighbours of every vertex.
+     */
+    private final int count;
+
+    /**
+     * Neighbours of all vertices, row-major.
+     */
+    private final int[] neighbours;
+
+    /**
+     * Build lists of neighbours, rows are calculated in parallel.
+     *
+     * @param costFunction edge cost measurer
+     * @param size         number of vertices
+     * @param count        number of neighbours of every vertex, is limited by size - 1
+     */
+    public NearestNeighbours(CostFunction costFunction, int size, int count) {
+        this.size = size;
+        this.count = Math.max(0, Math.min(count, size - 1));
+        this.neighbours = new int[size * this.count];
+        if (this.count > 0) IntStream.range(0, size).parallel().forEach(i -> buildRow(costFunction, i));
+    }
+
+    /**
+     * Find the nearest neighbours of the vertex by insertion into the sorted row.
+     *
+     * @param costFunction edge cost measurer
+     * @param i            vertex
+     */
+    private void buildRow(CostFunction costFunction, int i) {
+        final int row = i * count;
+        final long[] costs = new long[count];
+        int found = 0;
+        for (int j = 0; j < size; j++) {
+            if (j == i) continue;
+            final long cost = costFunction.cost(i, j);
+            if (found == count && cost >= costs[count - 1]) continue;
+
+            int k = found < count ? found++ : count - 1;
+            for (; k > 0 && costs[k - 1] > cost; k--) {
+                costs[k] = costs[k - 1];
+                neighbours[row + k] = neighbours[row + k - 1];
+            }
+            costs[k] = cost;
+            neighbours[row + k] = j;
+        }
+    }
+
+    /**
+     * @return number of vertices
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of neighbours of every vertex
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Obtain a neighbour of the vertex.
+     *
+     * @param i        vertex
+     * @param position position in the list of neighbours, the nearest is at 0
+     * @return neighbour vertex
+     */
+    public int get(int i, int position) {
+        return neighbours[i * count + position];
+    }
+}
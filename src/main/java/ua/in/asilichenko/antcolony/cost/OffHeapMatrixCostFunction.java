@@ -0,0 +1,75 @@
+package ua.in.asilichenko.antcolony.cost;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A cost function that stores costs in direct memory outside the garbage-collected heap,
+ * 2, 4 or 8 bytes per cost, the narrowest width sufficient for the range of costs.
+ * <p>
+ * A single direct buffer is limited to {@link Integer#MAX_VALUE} bytes.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class OffHeapMatrixCostFunction extends FlatCostFunction {
+
+    /**
+     * Bytes per stored cost.
+     */
+    private final int width;
+
+    /**
+     * Stored costs.
+     */
+    private final ByteBuffer costs;
+
+    /**
+     * Create a function with the minimum costs to be filled by {@link #set(int, int, long)}.
+     *
+     * @param size      number of vertices
+     * @param symmetric store only the upper triangle
+     * @param min       minimum cost
+     * @param max       maximum cost
+     */
+    public OffHeapMatrixCostFunction(int size, boolean symmetric, long min, long max) {
+        this(size, symmetric, Math.min(min, max), max, bytes(Math.min(min, max), max));
+    }
+
+    /**
+     * @param size      number of vertices
+     * @param symmetric store only the upper triangle
+     * @param min       minimum cost
+     * @param max       maximum cost
+     * @param width     bytes per stored cost
+     */
+    private OffHeapMatrixCostFunction(int size, boolean symmetric, long min, long max, int width) {
+        super(size, symmetric, min, max, width);
+        if ((long) cells * width > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many vertices: " + size);
+        this.width = width;
+        this.costs = ByteBuffer.allocateDirect(cells * width).order(ByteOrder.nativeOrder());
+        for (int k = 0; k < cells; k++) setAt(k, width == Long.BYTES ? min : -(1L << (8 * width - 1)));
+    }
+
+    @Override
+    protected long getAt(int index) {
+        return switch (width) {
+            case Short.BYTES -> costs.getShort(index * Short.BYTES);
+            case Integer.BYTES -> costs.getInt(index * Integer.BYTES);
+            default -> costs.getLong(index * Long.BYTES);
+        };
+    }
+
+    @Override
+    protected void setAt(int index, long value) {
+        switch (width) {
+            case Short.BYTES -> costs.putShort(index * Short.BYTES, (short) value);
+            case Integer.BYTES -> costs.putInt(index * Integer.BYTES, (int) value);
+            default -> costs.putLong(index * Long.BYTES, value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ua.in.asilichenko.antcolony.cost;
+
+/**
+ * A cost function of symmetric costs that stores only the upper triangle of the cost matrix
+ * (diagonal included) packed row by row, so it needs half the memory of {@link MatrixCostFunction}.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class SymmetricMatrixCostFunction extends CostFunction {
+
+    /**
+     * Number of vertices.
+     */
+    private final int size;
+
+    /**
+     * Packed upper triangle of the cost matrix.
+     */
+    private final long[] costs;
+
+    /**
+     * Create a function with zero costs to be filled by {@link #set(int, int, long)}.
+     *
+     * @param size number of vertices
+     */
+    public SymmetricMatrixCostFunction(int size) {
+        final long cells = (long) size * (size + 1) / 2;
+        if (cells > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many vertices: " + size);
+        this.size = size;
+        this.costs = new long[(int) cells];
+    }
+
+    /**
+     * @param matrix cost matrix, only the upper triangle is used
+     */
+    public SymmetricMatrixCostFunction(long[][] matrix) {
+        this(matrix.length);
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) costs[index(i, j)] = matrix[i][j];
+        }
+    }
+
+    /**
+     * Position of the edge in the packed triangle.
+     *
+     * @param i vertex
+     * @param j vertex, not less than i
+     * @return index of the (i, j) edge
+     */
+    private int index(int i, int j) {
+        return (int) ((long) i * (2 * size - i + 1) / 2) + j - i;
+    }
+
+    /**
+     * Set a cost of the undirected edge.
+     *
+     * @param i    vertex
+     * @param j    vertex
+     * @param cost cost of (i, j) and (j, i) edges
+     */
+    @Override
+    public void set(int i, int j, long cost) {
+        costs[i <= j ? index(i, j) : index(j, i)] = cost;
+    }
+
+    @Override
+    public boolean accepts(long cost) {
+        return true;
+    }
+
+    @Override
+    public long cost(int i, int j) {
+        return costs[i <= j ? index(i, j) : index(j, i)];
+    }
+}
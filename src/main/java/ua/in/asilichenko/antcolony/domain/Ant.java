@@ -1,10 +1,12 @@
 package ua.in.asilichenko.antcolony.domain;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * An Ant that has traveled through the graph in search of the best path so found some path with some cost.
  * <p>
+ * Is immutable: the path is copied in and out, vertices can be read one by one without copying.
+ * <p>
  * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
  * <p>
  * License: LGPL-3.0-or-later
@@ -12,5 +14,70 @@ import java.util.List;
  * @author Oleksii Sylichenko (a.silichenko@gmail.com)
  * Creation date: 08.12.2022
  */
-public record Ant(List<Integer> path, long totalCost) {
+public final class Ant {
+
+    /**
+     * Visited vertices, starts and ends with the vertex 0.
+     */
+    private final int[] path;
+
+    /**
+     * Total cost of the path.
+     */
+    private final long totalCost;
+
+    /**
+     * @param path      visited vertices, starts and ends with the vertex 0, is copied
+     * @param totalCost total cost of the path
+     */
+    public Ant(int[] path, long totalCost) {
+        this.path = path.clone();
+        this.totalCost = totalCost;
+    }
+
+    /**
+     * @return copy of the visited vertices, starts and ends with the vertex 0
+     */
+    public int[] path() {
+        return path.clone();
+    }
+
+    /**
+     * @return number of vertices of the path, including the returning vertex 0
+     */
+    public int length() {
+        return path.length;
+    }
+
+    /**
+     * @param step position in the path
+     * @return vertex visited at the step
+     */
+    public int vertex(int step) {
+        return path[step];
+    }
+
+    /**
+     * @return total cost of the path
+     */
+    public long totalCost() {
+        return totalCost;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Ant ant)) return false;
+        return totalCost == ant.totalCost && Arrays.equals(path, ant.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(path) + Long.hashCode(totalCost);
+    }
+
+    @Override
+    public String toString() {
+        return "Ant[path=" + Arrays.toString(path) + ", totalCost=" + totalCost + "]";
+    }
 }
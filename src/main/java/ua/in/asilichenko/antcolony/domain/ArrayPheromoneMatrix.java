@@ -1,5 +1,8 @@
 package ua.in.asilichenko.antcolony.domain;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 /**
  * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
  * <p>
@@ -10,6 +13,11 @@ package ua.in.asilichenko.antcolony.domain;
  */
 public class ArrayPheromoneMatrix extends PheromoneMatrix {
 
+    /**
+     * Atomic access to the cells of a row.
+     */
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(double[].class);
+
     private final double[][] matrix;
 
     @SuppressWarnings("unused")
@@ -36,6 +44,11 @@ public class ArrayPheromoneMatrix extends PheromoneMatrix {
         }
     }
 
+    @Override
+    public int size() {
+        return matrix.length;
+    }
+
     @Override
     public double get(int i, int j) {
         return matrix[i][j];
@@ -47,10 +60,62 @@ public class ArrayPheromoneMatrix extends PheromoneMatrix {
     }
 
     @Override
-    public void evaporate() {
-        for (int i = 0; i < matrix.length; i++) {
+    public void multiply(double factor) {
+        multiply(factor, 0, matrix.length);
+    }
+
+    @Override
+    public int rows() {
+        return matrix.length;
+    }
+
+    @Override
+    public int row(int i, int j) {
+        return i;
+    }
+
+    @Override
+    public void multiply(double factor, int fromRow, int toRow) {
+        for (int i = fromRow; i < toRow; i++) {
             for (int j = 0; j < matrix[i].length; j++) {
-                matrix[i][j] *= (1 - rho);
+                matrix[i][j] *= factor;
+            }
+        }
+    }
+
+    @Override
+    public double level(int index) {
+        return matrix[index / matrix.length][index % matrix.length];
+    }
+
+    @Override
+    public void setLevel(int index, double value) {
+        matrix[index / matrix.length][index % matrix.length] = value;
+    }
+
+    @Override
+    public void clamp(double min, double max, int fromRow, int toRow) {
+        for (int i = fromRow; i < toRow; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                if (i != j) matrix[i][j] = Math.min(max, Math.max(min, matrix[i][j]));
+            }
+        }
+    }
+
+    @Override
+    public void addAtomic(int i, int j, double value) {
+        CELL.getAndAdd(matrix[i], j, value);
+    }
+
+    @Override
+    public void multiplyAtomic(double factor, int fromRow, int toRow) {
+        for (int i = fromRow; i < toRow; i++) {
+            final double[] line = matrix[i];
+            for (int j = 0; j < line.length; j++) {
+                double level;
+                do {
+                    level = (double) CELL.getVolatile(line, j);
+                } while (!CELL.weakCompareAndSet(line, j, level, level * factor));
             }
         }
     }
@@ -0,0 +1,73 @@
+package ua.in.asilichenko.antcolony.domain;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Pheromone matrix stored in a single double array.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class DoublePheromoneMatrix extends FlatPheromoneMatrix {
+
+    /**
+     * Atomic access to the cells.
+     */
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private final double[] matrix;
+
+    /**
+     * @param size number of vertices
+     * @param rho  evaporation speed
+     */
+    public DoublePheromoneMatrix(int size, double rho) {
+        this(size, rho, false);
+    }
+
+    /**
+     * @param size      number of vertices
+     * @param rho       evaporation speed
+     * @param symmetric store only the upper triangle
+     */
+    public DoublePheromoneMatrix(int size, double rho, boolean symmetric) {
+        super(size, rho, symmetric);
+        this.matrix = new double[cells];
+        initMatrix();
+    }
+
+    @Override
+    protected double getAt(int index) {
+        return matrix[index];
+    }
+
+    @Override
+    protected void setAt(int index, double value) {
+        matrix[index] = value;
+    }
+
+    @Override
+    protected void multiplyCells(double factor, int fromCell, int toCell) {
+        for (int k = fromCell; k < toCell; k++) matrix[k] *= factor;
+    }
+
+    @Override
+    protected void addAtomicAt(int index, double value) {
+        CELL.getAndAdd(matrix, index, value);
+    }
+
+    @Override
+    protected void multiplyCellsAtomic(double factor, int fromCell, int toCell) {
+        for (int k = fromCell; k < toCell; k++) {
+            double level;
+            do {
+                level = (double) CELL.getVolatile(matrix, k);
+            } while (!CELL.weakCompareAndSet(matrix, k, level, (level * factor)));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package ua.in.asilichenko.antcolony.domain;
+
+/**
+ * Base class for pheromone matrices stored in a single contiguous row-major block,
+ * so a row scan reads sequential memory and access needs no row pointer dereference.
+ * <p>
+ * Symmetric matrices store only the upper triangle without diagonal packed row by row,
+ * (i, j) and (j, i) share the same cell, so deposits apply to the undirected edge.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public abstract class FlatPheromoneMatrix extends PheromoneMatrix {
+
+    /**
+     * Number of vertices.
+     */
+    protected final int size;
+
+    /**
+     * Store only the upper triangle.
+     */
+    protected final boolean symmetric;
+
+    /**
+     * Number of stored cells.
+     */
+    protected final int cells;
+
+    /**
+     * @param size      number of vertices
+     * @param rho       evaporation speed
+     * @param symmetric store only the upper triangle
+     */
+    protected FlatPheromoneMatrix(int size, double rho, boolean symmetric) {
+        super(rho);
+        final long cells = symmetric ? (long) size * (size - 1) / 2 : (long) size * size;
+        if (cells > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many vertices: " + size);
+        this.size = size;
+        this.symmetric = symmetric;
+        this.cells = (int) cells;
+    }
+
+    /**
+     * Setup initial pheromone level on all edges.
+     */
+    protected void initMatrix() {
+        if (symmetric) {
+            for (int k = 0; k < cells; k++) setAt(k, 1);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i == j) continue;
+                setAt(index(i, j), 1);
+            }
+        }
+    }
+
+    /**
+     * Position of the edge in the storage.
+     * Diagonal edges have no position in a symmetric matrix.
+     *
+     * @param i vertex
+     * @param j vertex
+     * @return index of the (i, j) edge cell
+     */
+    protected int index(int i, int j) {
+        if (!symmetric) return i * size + j;
+        if (i > j) return index(j, i);
+        return (int) ((long) i * (2 * size - i - 1) / 2) + j - i - 1;
+    }
+
+    /**
+     * Position of the first cell of the row in the storage.
+     *
+     * @param row storage row, number of vertices for the end of the storage
+     * @return index of the first cell
+     */
+    protected int rowStart(int row) {
+        return symmetric ? (int) ((long) row * (2 * size - row - 1) / 2) : row * size;
+    }
+
+    /**
+     * Multiply pheromone level stored in the cells by the factor.
+     *
+     * @param factor   multiplier
+     * @param fromCell first cell, inclusive
+     * @param toCell   last cell, exclusive
+     */
+    protected abstract void multiplyCells(double factor, int fromCell, int toCell);
+
+    /**
+     * Multiply pheromone level stored in the cells by the factor atomically.
+     *
+     * @param factor   multiplier
+     * @param fromCell first cell, inclusive
+     * @param toCell   last cell, exclusive
+     */
+    protected abstract void multiplyCellsAtomic(double factor, int fromCell, int toCell);
+
+    /**
+     * @param index index of the cell
+     * @param value pheromone value to add to the cell atomically
+     */
+    protected abstract void addAtomicAt(int index, double value);
+
+    /**
+     * @param index index of the cell
+     * @return pheromone level stored in the cell
+     */
+    protected abstract double getAt(int index);
+
+    /**
+     * @param index index of the cell
+     * @param value pheromone level to store in the cell
+     */
+    protected abstract void setAt(int index, double value);
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int rows() {
+        return size;
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    @Override
+    public int row(int i, int j) {
+        return symmetric ? Math.min(i, j) : i;
+    }
+
+    @Override
+    public void multiply(double factor) {
+        multiplyCells(factor, 0, cells);
+    }
+
+    @Override
+    public void multiply(double factor, int fromRow, int toRow) {
+        multiplyCells(factor, rowStart(fromRow), rowStart(toRow));
+    }
+
+    @Override
+    public int levelCount() {
+        return cells;
+    }
+
+    @Override
+    public double level(int index) {
+        return getAt(index);
+    }
+
+    @Override
+    public void setLevel(int index, double value) {
+        setAt(index, value);
+    }
+
+    /**
+     * Diagonal cells of a square matrix stay empty.
+     */
+    @Override
+    public void clamp(double min, double max, int fromRow, int toRow) {
+        final int toCell = rowStart(toRow);
+        for (int k = rowStart(fromRow); k < toCell; k++) setAt(k, Math.min(max, Math.max(min, getAt(k))));
+        if (!symmetric) for (int i = fromRow; i < toRow; i++) setAt(index(i, i), 0);
+    }
+
+    @Override
+    public double get(int i, int j) {
+        if (symmetric && i == j) return 0;
+        return getAt(index(i, j));
+    }
+
+    @Override
+    public void add(int i, int j, double value) {
+        if (symmetric && i == j) return;
+        final int index = index(i, j);
+        setAt(index, getAt(index) + value);
+    }
+
+    @Override
+    public void addAtomic(int i, int j, double value) {
+        if (symmetric && i == j) return;
+        addAtomicAt(index(i, j), value);
+    }
+
+    @Override
+    public void multiplyAtomic(double factor, int fromRow, int toRow) {
+        multiplyCellsAtomic(factor, rowStart(fromRow), rowStart(toRow));
+    }
+}
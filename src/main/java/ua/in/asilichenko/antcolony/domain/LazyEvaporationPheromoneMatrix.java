@@ -0,0 +1,101 @@
+package ua.in.asilichenko.antcolony.domain;
+
+/**
+ * Pheromone matrix that evaporates in constant time.
+ * <p>
+ * Real pheromone level is the stored level multiplied by the global scale,
+ * so evaporation only decreases the scale and deposits are divided by it.
+ * When the scale becomes too small the stored levels are renormalised by a single pass over the wrapped matrix.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class LazyEvaporationPheromoneMatrix extends PheromoneMatrix {
+
+    /**
+     * The scale below which stored levels are renormalised,
+     * keeps stored levels far from overflow even in float precision.
+     */
+    private static final double MIN_SCALE = 1e-30;
+
+    /**
+     * Matrix of stored levels.
+     */
+    private final PheromoneMatrix matrix;
+
+    /**
+     * Multiplier of all stored levels.
+     */
+    private double scale = 1;
+
+    /**
+     * @param matrix matrix to store levels, its evaporation speed is used
+     */
+    public LazyEvaporationPheromoneMatrix(PheromoneMatrix matrix) {
+        super(matrix.rho);
+        this.matrix = matrix;
+    }
+
+    @Override
+    public int size() {
+        return matrix.size();
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return matrix.get(i, j) * scale;
+    }
+
+    @Override
+    public void add(int i, int j, double value) {
+        matrix.add(i, j, value / scale);
+    }
+
+    @Override
+    public void multiply(double factor) {
+        scale *= factor;
+        if (scale < MIN_SCALE) normalize();
+    }
+
+    @Override
+    public int levelCount() {
+        return matrix.levelCount();
+    }
+
+    @Override
+    public double level(int index) {
+        return matrix.level(index) * scale;
+    }
+
+    @Override
+    public void setLevel(int index, double value) {
+        matrix.setLevel(index, value / scale);
+    }
+
+    @Override
+    public int levelBytes() {
+        return matrix.levelBytes();
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return matrix.isSymmetric();
+    }
+
+    @Override
+    public void clamp(double min, double max, int fromRow, int toRow) {
+        if (fromRow < toRow) matrix.clamp(min / scale, max / scale, 0, matrix.rows());
+    }
+
+    /**
+     * Apply the scale to stored levels.
+     */
+    public void normalize() {
+        matrix.multiply(scale);
+        scale = 1;
+    }
+}
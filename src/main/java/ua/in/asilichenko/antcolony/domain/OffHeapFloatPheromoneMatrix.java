@@ -0,0 +1,104 @@
+package ua.in.asilichenko.antcolony.domain;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Pheromone matrix of float precision stored in direct memory outside the garbage-collected heap.
+ * <p>
+ * A single direct buffer is limited to {@link Integer#MAX_VALUE} bytes.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class OffHeapFloatPheromoneMatrix extends FlatPheromoneMatrix {
+
+    /**
+     * Atomic access to the cells.
+     */
+    private static final VarHandle CELL = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.nativeOrder());
+
+    /**
+     * Cells as bytes for atomic access.
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * Cells.
+     */
+    private final FloatBuffer matrix;
+
+    /**
+     * @param size number of vertices
+     * @param rho  evaporation speed
+     */
+    public OffHeapFloatPheromoneMatrix(int size, double rho) {
+        this(size, rho, false);
+    }
+
+    /**
+     * @param size      number of vertices
+     * @param rho       evaporation speed
+     * @param symmetric store only the upper triangle
+     */
+    public OffHeapFloatPheromoneMatrix(int size, double rho, boolean symmetric) {
+        super(size, rho, symmetric);
+        if ((long) cells * Float.BYTES > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many vertices: " + size);
+        this.bytes = ByteBuffer.allocateDirect(cells * Float.BYTES).order(ByteOrder.nativeOrder());
+        this.matrix = bytes.asFloatBuffer();
+        initMatrix();
+    }
+
+    @Override
+    public int levelBytes() {
+        return Float.BYTES;
+    }
+
+    @Override
+    protected double getAt(int index) {
+        return matrix.get(index);
+    }
+
+    @Override
+    protected void setAt(int index, double value) {
+        matrix.put(index, (float) value);
+    }
+
+    @Override
+    protected void multiplyCells(double factor, int fromCell, int toCell) {
+        final float f = (float) factor;
+        for (int k = fromCell; k < toCell; k++) matrix.put(k, matrix.get(k) * f);
+    }
+
+    @Override
+    protected void addAtomicAt(int index, double value) {
+        update(index, 1, value);
+    }
+
+    @Override
+    protected void multiplyCellsAtomic(double factor, int fromCell, int toCell) {
+        for (int k = fromCell; k < toCell; k++) update(k, factor, 0);
+    }
+
+    /**
+     * Replace level of the cell by level * factor + value atomically.
+     *
+     * @param index  index of the cell
+     * @param factor multiplier
+     * @param value  value to add
+     */
+    private void update(int index, double factor, double value) {
+        final int offset = index * Float.BYTES;
+        float level;
+        do {
+            level = (float) CELL.getVolatile(bytes, offset);
+        } while (!CELL.weakCompareAndSet(bytes, offset, level, (float) (level * factor + value)));
+    }
+}
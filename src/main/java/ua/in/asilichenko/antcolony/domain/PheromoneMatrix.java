@@ -24,6 +24,18 @@ public abstract class PheromoneMatrix {
         this.rho = rho;
     }
 
+    /**
+     * @return evaporation speed
+     */
+    public double rho() {
+        return rho;
+    }
+
+    /**
+     * @return number of vertices
+     */
+    public abstract int size();
+
     /**
      * Obtain current pheromone level on the edge.
      *
@@ -45,5 +57,165 @@ public abstract class PheromoneMatrix {
     /**
      * Evaporate some pheromone.
      */
-    public abstract void evaporate();
+    public void evaporate() {
+        multiply(1 - rho);
+    }
+
+    /**
+     * Multiply pheromone level on all edges by the factor.
+     *
+     * @param factor multiplier
+     */
+    public abstract void multiply(double factor);
+
+    /**
+     * Number of storage rows, different rows can be updated concurrently.
+     * By default the whole matrix is a single row.
+     *
+     * @return number of rows
+     */
+    public int rows() {
+        return 1;
+    }
+
+    /**
+     * Whether both directions of every edge are stored in the same cell, so (i, j) and (j, i) share the level.
+     *
+     * @return false by default
+     */
+    public boolean isSymmetric() {
+        return false;
+    }
+
+    /**
+     * Storage row of the edge.
+     *
+     * @param i vertex
+     * @param j vertex
+     * @return row where pheromone level of (i, j) edge is stored
+     */
+    public int row(int i, int j) {
+        return 0;
+    }
+
+    /**
+     * Evaporate some pheromone from the storage rows.
+     *
+     * @param fromRow first row, inclusive
+     * @param toRow   last row, exclusive
+     */
+    public void evaporate(int fromRow, int toRow) {
+        multiply(1 - rho, fromRow, toRow);
+    }
+
+    /**
+     * Multiply pheromone level on edges of the storage rows by the factor.
+     * By default the whole matrix is a single row.
+     *
+     * @param factor  multiplier
+     * @param fromRow first row, inclusive
+     * @param toRow   last row, exclusive
+     */
+    public void multiply(double factor, int fromRow, int toRow) {
+        if (fromRow < toRow) multiply(factor);
+    }
+
+    /**
+     * Number of stored levels, e.g. to save them.
+     * By default every edge (i, j) is stored at i * size + j.
+     *
+     * @return number of stored levels
+     */
+    public int levelCount() {
+        return Math.multiplyExact(size(), size());
+    }
+
+    /**
+     * @param index index of the stored level in [0, levelCount)
+     * @return stored level
+     */
+    public double level(int index) {
+        return get(index / size(), index % size());
+    }
+
+    /**
+     * @param index index of the stored level in [0, levelCount)
+     * @param value level to store
+     */
+    public void setLevel(int index, double value) {
+        final int i = index / size();
+        final int j = index % size();
+        add(i, j, value - get(i, j));
+    }
+
+    /**
+     * Precision of stored levels, e.g. to save them without loss or waste.
+     *
+     * @return number of bytes of a stored level, {@link Double#BYTES} by default
+     */
+    public int levelBytes() {
+        return Double.BYTES;
+    }
+
+    /**
+     * Limit pheromone level on edges of the storage rows to the range,
+     * the range of a single value sets all the edges to this value.
+     * By default the whole matrix is a single row, so the levels are limited edge by edge.
+     *
+     * @param min     minimum level
+     * @param max     maximum level
+     * @param fromRow first row, inclusive
+     * @param toRow   last row, exclusive
+     */
+    public void clamp(double min, double max, int fromRow, int toRow) {
+        if (fromRow >= toRow) return;
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i == j) continue;
+                final double level = get(i, j);
+                if (level < min) add(i, j, min - level);
+                else if (level > max) add(i, j, max - level);
+            }
+        }
+    }
+
+    /**
+     * Add some pheromones on the edge atomically, may run concurrently with other atomic updates.
+     * By default atomic updates are serialised on the matrix.
+     *
+     * @param i     vertex
+     * @param j     vertex
+     * @param value pheromone value to add
+     */
+    public void addAtomic(int i, int j, double value) {
+        synchronized (this) {
+            add(i, j, value);
+        }
+    }
+
+    /**
+     * Evaporate some pheromone from the storage rows atomically, may run concurrently with other atomic updates.
+     *
+     * @param fromRow first row, inclusive
+     * @param toRow   last row, exclusive
+     */
+    public void evaporateAtomic(int fromRow, int toRow) {
+        multiplyAtomic(1 - rho, fromRow, toRow);
+    }
+
+    /**
+     * Multiply pheromone level on edges of the storage rows by the factor atomically,
+     * may run concurrently with other atomic updates.
+     * By default atomic updates are serialised on the matrix.
+     *
+     * @param factor  multiplier
+     * @param fromRow first row, inclusive
+     * @param toRow   last row, exclusive
+     */
+    public void multiplyAtomic(double factor, int fromRow, int toRow) {
+        synchronized (this) {
+            multiply(factor, fromRow, toRow);
+        }
+    }
 }
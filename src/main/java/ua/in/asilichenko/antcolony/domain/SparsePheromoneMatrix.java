@@ -0,0 +1,194 @@
+package ua.in.asilichenko.antcolony.domain;
+
+import ua.in.asilichenko.antcolony.cost.NearestNeighbours;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Pheromone matrix that stores levels only of a fixed set of candidate edges,
+ * so it needs memory proportional to the number of candidate edges instead of the square of vertices.
+ * <p>
+ * Candidate edges are stored in compressed rows: columns of the row i are sorted
+ * at [rowStart[i], rowStart[i + 1]) of the columns array, their levels are at the same positions of the levels array.
+ * All other edges share the default level, deposits on them are ignored.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class SparsePheromoneMatrix extends PheromoneMatrix {
+
+    /**
+     * Atomic access to the levels.
+     */
+    private static final VarHandle LEVEL = MethodHandles.arrayElementVarHandle(double[].class);
+
+    /**
+     * Atomic access to the default level.
+     */
+    private static final VarHandle DEFAULT_LEVEL;
+
+    static {
+        try {
+            DEFAULT_LEVEL = MethodHandles.lookup().findVarHandle(SparsePheromoneMatrix.class, "defaultLevel", double.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Number of vertices.
+     */
+    private final int size;
+
+    /**
+     * Start of every row in columns and levels, the last element is the number of candidate edges.
+     */
+    private final int[] rowStart;
+
+    /**
+     * Sorted columns of candidate edges of every row.
+     */
+    private final int[] columns;
+
+    /**
+     * Pheromone levels of candidate edges.
+     */
+    private final double[] levels;
+
+    /**
+     * Pheromone level of all edges except candidate ones.
+     */
+    private double defaultLevel = 1;
+
+    /**
+     * Use the nearest neighbours as candidate edges.
+     *
+     * @param neighbours nearest neighbours of every vertex
+     * @param rho        evaporation speed
+     */
+    public SparsePheromoneMatrix(NearestNeighbours neighbours, double rho) {
+        super(rho);
+        this.size = neighbours.size();
+        final int count = neighbours.count();
+
+        this.rowStart = new int[size + 1];
+        this.columns = new int[size * count];
+        this.levels = new double[size * count];
+        for (int i = 0; i < size; i++) {
+            rowStart[i] = i * count;
+            for (int p = 0; p < count; p++) columns[i * count + p] = neighbours.get(i, p);
+            Arrays.sort(columns, i * count, (i + 1) * count);
+        }
+        rowStart[size] = size * count;
+        Arrays.fill(levels, 1);
+    }
+
+    /**
+     * Position of the candidate edge.
+     *
+     * @param i vertex
+     * @param j vertex
+     * @return index of the (i, j) edge or negative value if it is not a candidate
+     */
+    private int index(int i, int j) {
+        return Arrays.binarySearch(columns, rowStart[i], rowStart[i + 1], j);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        if (i == j) return 0;
+        final int index = index(i, j);
+        return index < 0 ? defaultLevel : levels[index];
+    }
+
+    @Override
+    public void add(int i, int j, double value) {
+        final int index = index(i, j);
+        if (index >= 0) levels[index] += value;
+    }
+
+    @Override
+    public void multiply(double factor) {
+        multiply(factor, 0, size);
+    }
+
+    @Override
+    public int rows() {
+        return size;
+    }
+
+    @Override
+    public int row(int i, int j) {
+        return i;
+    }
+
+    /**
+     * The default level is multiplied together with the first row.
+     */
+    @Override
+    public void multiply(double factor, int fromRow, int toRow) {
+        if (fromRow == 0 && toRow > 0) defaultLevel *= factor;
+        for (int k = rowStart[fromRow]; k < rowStart[toRow]; k++) levels[k] *= factor;
+    }
+
+    /**
+     * Levels of candidate edges followed by the default level.
+     */
+    @Override
+    public int levelCount() {
+        return levels.length + 1;
+    }
+
+    @Override
+    public double level(int index) {
+        return index < levels.length ? levels[index] : defaultLevel;
+    }
+
+    @Override
+    public void setLevel(int index, double value) {
+        if (index < levels.length) levels[index] = value;
+        else defaultLevel = value;
+    }
+
+    /**
+     * The default level is limited together with the first row.
+     */
+    @Override
+    public void clamp(double min, double max, int fromRow, int toRow) {
+        if (fromRow == 0 && toRow > 0) defaultLevel = Math.min(max, Math.max(min, defaultLevel));
+        for (int k = rowStart[fromRow]; k < rowStart[toRow]; k++) levels[k] = Math.min(max, Math.max(min, levels[k]));
+    }
+
+    @Override
+    public void addAtomic(int i, int j, double value) {
+        final int index = index(i, j);
+        if (index >= 0) LEVEL.getAndAdd(levels, index, value);
+    }
+
+    @Override
+    public void multiplyAtomic(double factor, int fromRow, int toRow) {
+        if (fromRow == 0 && toRow > 0) {
+            double level;
+            do {
+                level = (double) DEFAULT_LEVEL.getVolatile(this);
+            } while (!DEFAULT_LEVEL.weakCompareAndSet(this, level, level * factor));
+        }
+        for (int k = rowStart[fromRow]; k < rowStart[toRow]; k++) {
+            double level;
+            do {
+                level = (double) LEVEL.getVolatile(levels, k);
+            } while (!LEVEL.weakCompareAndSet(levels, k, level, level * factor));
+        }
+    }
+}
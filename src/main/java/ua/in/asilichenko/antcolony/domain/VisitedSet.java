@@ -0,0 +1,64 @@
+package ua.in.asilichenko.antcolony.domain;
+
+import java.util.Arrays;
+
+/**
+ * Set of visited vertices stored as a bitset of primitive words.
+ * Is meant to be reused by the same worker for many ants, so it never allocates after creation.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class VisitedSet {
+
+    /**
+     * Bits of visited vertices, 64 vertices per word.
+     */
+    private final long[] words;
+
+    /**
+     * @param size number of vertices on graph
+     */
+    public VisitedSet(int size) {
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Test if the vertex was visited.
+     *
+     * @param i vertex
+     * @return true if visited
+     */
+    public boolean contains(int i) {
+        return (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Mark the vertex as visited.
+     *
+     * @param i vertex
+     */
+    public void add(int i) {
+        words[i >>> 6] |= 1L << i;
+    }
+
+    /**
+     * Forget all visited vertices.
+     */
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    /**
+     * Bits of the visited vertices, where bit (i % 64) of word (i / 64) represents vertex i.
+     *
+     * @return backing words, must not be modified
+     */
+    public long[] words() {
+        return words;
+    }
+}
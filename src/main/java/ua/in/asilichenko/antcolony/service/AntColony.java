@@ -1,14 +1,22 @@
 package ua.in.asilichenko.antcolony.service;
 
+import ua.in.asilichenko.antcolony.cost.EdgeCost;
 import ua.in.asilichenko.antcolony.domain.Ant;
 import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
 import ua.in.asilichenko.antcolony.domain.Probability;
+import ua.in.asilichenko.antcolony.domain.VisitedSet;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.IntStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Ant Colony Optimization base class
@@ -22,6 +30,31 @@ import java.util.stream.IntStream;
  */
 public abstract class AntColony {
 
+    /**
+     * Rows of a stripe processed by a single thread are not less than this number.
+     */
+    private static final int MIN_STRIPE_ROWS = 64;
+
+    /**
+     * Number of stripes per thread for balancing of uneven stripes.
+     */
+    private static final int STRIPES_PER_THREAD = 4;
+
+    /**
+     * Edges whose level exceeds the minimum of the vertex by this part of the level range are counted as branches.
+     */
+    private static final double BRANCHING_LAMBDA = 0.05;
+
+    /**
+     * Choice info is recalculated completely when the scale of its levels drops below this value.
+     */
+    private static final double MIN_CHOICE_SCALE = 1e-100;
+
+    /**
+     * Default part of the gap to the maximum level of a vertex closed by smoothing when costs of its edges change.
+     */
+    private static final double DEFAULT_COST_CHANGE_SMOOTHING = 0.5;
+
     /**
      * Influence of pheromone level.
      */
@@ -45,7 +78,72 @@ public abstract class AntColony {
     /**
      * Ant travelled by the best (shortest) path.
      */
-    private Ant bestAnt = null;
+    private final AtomicReference<Ant> bestAnt = new AtomicReference<>();
+
+    /**
+     * Workers of the running search.
+     */
+    private volatile WorkerPool workers = WorkerPool.commonPool();
+
+    /**
+     * Pheromone update rule, Ant System by default.
+     */
+    private volatile PheromoneUpdate pheromoneUpdate = new AntSystemUpdate();
+
+    /**
+     * Improvement of ant tours before deposit, null - tours are deposited as constructed.
+     */
+    private volatile LocalSearch localSearch;
+
+    /**
+     * Observers of the search progress.
+     */
+    private final List<SearchListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Number of iterations completed by this colony.
+     */
+    private long completedIterations;
+
+    /**
+     * Changes of edge costs not applied yet.
+     */
+    private final Queue<EdgeCost> costChanges = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Part of the gap to the maximum level of a vertex closed by smoothing when costs of its edges change.
+     */
+    private volatile double costChangeSmoothing = DEFAULT_COST_CHANGE_SMOOTHING;
+
+    /**
+     * Tour construction engines of the workers.
+     */
+    private final ThreadLocal<TourConstructor> tourConstructors;
+
+    /**
+     * Eta of every edge, row-major: eta(cost(i, j)) at [i * pathSize + j].
+     * It is calculated once, only edges whose costs changed are recalculated.
+     */
+    private double[] etaCache;
+
+    /**
+     * Choice info of every edge, row-major: Tau-Eta of (i, j) edge at [i * pathSize + j].
+     * Pheromones change mostly in {@link #addPheromone(List)}, so it is refreshed once per iteration,
+     * edges changed during tour construction are refreshed one by one.
+     */
+    private volatile double[] choiceInfo;
+
+    /**
+     * Product of uniform evaporations since the last complete recalculation of choice info.
+     * Choice info is calculated from levels divided by the scale, so uniform evaporation does not change it
+     * and only edges receiving deposits are refreshed: ants choose by ratios within a row, which the scale keeps.
+     */
+    private double choiceScale = 1;
+
+    /**
+     * Whether {@link #tau(double)} is the power of the level, so it keeps ratios of scaled levels.
+     */
+    private final boolean powerTau;
 
     /**
      * @param alpha           pheromone influence
@@ -58,6 +156,27 @@ public abstract class AntColony {
         this.beta = beta;
         this.pheromoneMatrix = pheromoneMatrix;
         this.pathSize = pathSize;
+        this.tourConstructors = ThreadLocal.withInitial(() -> new TourConstructor(pathSize));
+        this.powerTau = !overrides(getClass(), AntColony.class, "tau", double.class);
+    }
+
+    /**
+     * @param type           class to test
+     * @param base           superclass of the type which declares the method
+     * @param name           name of the method
+     * @param parameterTypes parameter types of the method
+     * @return whether the method is overridden by the type or any of its superclasses below the base
+     */
+    static boolean overrides(Class<?> type, Class<?> base, String name, Class<?>... parameterTypes) {
+        for (Class<?> c = type; c != base && null != c; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not declared by this class
+            }
+        }
+        return false;
     }
 
     /**
@@ -93,42 +212,234 @@ public abstract class AntColony {
      * @return ant returned from a trip
      */
     public Ant trace() {
-        final List<Integer> path = new ArrayList<>();
-        long totalCost = 0;
+        return tourConstructors.get().construct(this);
+    }
+
+    /**
+     * @return pheromone update rule
+     */
+    PheromoneUpdate pheromoneUpdate() {
+        return pheromoneUpdate;
+    }
+
+    /**
+     * Set the pheromone update rule, it may prepare the pheromone matrix.
+     *
+     * @param pheromoneUpdate pheromone update rule
+     * @throws IllegalArgumentException if the rule does not suit the pheromone matrix
+     */
+    public void setPheromoneUpdate(PheromoneUpdate pheromoneUpdate) {
+        pheromoneUpdate.init(this);
+        this.pheromoneUpdate = pheromoneUpdate;
+    }
+
+    /**
+     * @return number of iterations completed by this colony
+     */
+    long completedIterations() {
+        return completedIterations;
+    }
+
+    /**
+     * Continue from a saved state, must not be called during the search.
+     * Pheromone levels must be already restored, choice info is recalculated by them.
+     *
+     * @param bestAnt             the best ant of the saved state, may be null
+     * @param completedIterations number of iterations completed before the state was saved
+     */
+    void restore(Ant bestAnt, long completedIterations) {
+        this.bestAnt.set(bestAnt);
+        this.completedIterations = completedIterations;
+        pheromoneUpdate.restart(this);
+        refreshChoiceInfo();
+    }
 
-        path.add(0);
-        for (int step = 0, i = 0; step < pathSize - 1; step++) {
-            //
-            final List<Integer> edges = obtainEdges(i, path);
-            final List<Probability> probabilities = calcProbabilities(i, edges);
-
-            final List<Probability> cumulativeSum = cumulativeSum(probabilities);
-            final double random = ThreadLocalRandom.current().nextDouble();
-
-            int prevI = i;
-            for (Probability prob : cumulativeSum) {
-                if (random < prob.value()) {
-                    i = prob.edge();
-                    break;
-                }
+    /**
+     * @param listener observer of the search progress
+     */
+    public void addListener(SearchListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener observer of the search progress
+     */
+    public void removeListener(SearchListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param localSearch improvement of ant tours before deposit, null - tours are deposited as constructed
+     */
+    public void setLocalSearch(LocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+    /**
+     * Improve the tour of the ant if local search of the scope is set.
+     *
+     * @param ant   ant after its travel
+     * @param scope scope the ant belongs to
+     * @return the same or improved ant
+     */
+    private Ant improve(Ant ant, LocalSearch.Scope scope) {
+        final LocalSearch localSearch = this.localSearch;
+        return null != localSearch && localSearch.scope() == scope ? localSearch.improve(ant) : ant;
+    }
+
+    /**
+     * @param smoothing part of the gap to the maximum level of a vertex closed on its edges when their costs change,
+     *                  0 - keep pheromone, 1 - forget what was learnt about the vertex
+     */
+    public void setCostChangeSmoothing(double smoothing) {
+        if (smoothing < 0 || smoothing > 1) throw new IllegalArgumentException("Smoothing out of [0, 1]: " + smoothing);
+        this.costChangeSmoothing = smoothing;
+    }
+
+    /**
+     * Change costs of edges, e.g. by traffic updates, and warm up the colony for the changed graph.
+     * <p>
+     * May be called from any thread, also during the search: changes are queued and applied by the searching thread
+     * before the next iteration, or at the start of the next search.
+     * Pheromone is smoothed only on edges of the affected vertices, the rest of learnt pheromone is kept,
+     * and the best tour is recosted and repaired around the affected vertices by the local search, if it is set,
+     * so the search continues from a good tour instead of a cold start.
+     * Candidate lists are not rebuilt.
+     * <p>
+     * Changes are validated on the calling thread: if any of them cannot be applied, none of them is queued.
+     *
+     * @param changes new costs of edges, the cost function must be mutable
+     * @throws IllegalArgumentException if an edge is out of the graph, or the cost cannot be stored,
+     *                                  e.g. costs are immutable or out of the range of the cost storage
+     */
+    public void updateCosts(Collection<EdgeCost> changes) {
+        for (EdgeCost change : changes) {
+            if (change.i() < 0 || change.i() >= pathSize || change.j() < 0 || change.j() >= pathSize) {
+                throw new IllegalArgumentException("Edge out of the graph: " + change);
             }
-            path.add(i);
-            totalCost += cost(prevI, i);
-            //
+            if (!acceptsCost(change.cost())) throw new IllegalArgumentException("Cost cannot be changed: " + change);
+        }
+        costChanges.addAll(changes);
+    }
+
+    /**
+     * Whether {@link #setCost(int, int, long)} can store the cost.
+     *
+     * @param cost new cost of an edge
+     * @return false by default, as costs are immutable
+     */
+    protected boolean acceptsCost(long cost) {
+        return false;
+    }
+
+    /**
+     * Apply queued changes of edge costs, must not run concurrently with ants.
+     */
+    private void applyCostChanges() {
+        if (costChanges.isEmpty()) return;
+
+        final List<EdgeCost> changes = new ArrayList<>();
+        for (EdgeCost change = costChanges.poll(); null != change; change = costChanges.poll()) changes.add(change);
+        final BitSet affected = new BitSet(pathSize);
+        for (EdgeCost change : changes) {
+            setCost(change.i(), change.j(), change.cost());
+            affected.set(change.i());
+            affected.set(change.j());
+        }
+        // symmetric cost functions change both directions
+        for (EdgeCost change : changes) {
+            refreshEta(change.i(), change.j());
+            refreshEta(change.j(), change.i());
         }
-        path.add(0);
-        totalCost += cost(path.get(path.size() - 2), 0);
-        return new Ant(path, totalCost);
+
+        final double smoothing = costChangeSmoothing;
+        if (smoothing > 0) affected.stream().forEach(v -> smoothPheromone(v, smoothing));
+        refreshChoiceInfo();
+        repairBestAnt(affected.stream().toArray());
+    }
+
+    /**
+     * Change a cost of the edge.
+     *
+     * @param i    vertex
+     * @param j    vertex
+     * @param cost new cost of (i, j) edge, accepted by {@link #acceptsCost(long)}
+     * @throws UnsupportedOperationException if costs are immutable, by default
+     */
+    protected void setCost(int i, int j, long cost) {
+        throw new UnsupportedOperationException("Immutable costs: " + getClass().getSimpleName());
+    }
+
+    /**
+     * Recalculate eta of the edge after its cost changed.
+     *
+     * @param i vertex
+     * @param j vertex
+     */
+    protected void refreshEta(int i, int j) {
+        if (i != j && null != choiceInfo) etaCache[i * pathSize + j] = eta(cost(i, j));
+    }
+
+    /**
+     * Raise pheromone on all edges of the vertex towards the maximum level of its edges,
+     * so ants explore alternatives around the vertex again.
+     *
+     * @param v         vertex
+     * @param smoothing part of the gap to the maximum level to close
+     */
+    protected void smoothPheromone(int v, double smoothing) {
+        double max = 0;
+        for (int j = 0; j < pathSize; j++) {
+            if (j != v) max = Math.max(max, pheromoneMatrix.get(v, j));
+        }
+        for (int u = 0; u < pathSize; u++) {
+            if (u != v) smoothEdge(v, u, max, smoothing);
+        }
+    }
+
+    /**
+     * Raise pheromone on both directions of the edge towards the level.
+     * Symmetric matrices store both directions in the same cell, then it is raised once.
+     *
+     * @param v         vertex
+     * @param u         vertex
+     * @param max       level to raise towards
+     * @param smoothing part of the gap to the level to close
+     */
+    final void smoothEdge(int v, int u, double max, double smoothing) {
+        pheromoneMatrix.add(v, u, smoothing * (max - pheromoneMatrix.get(v, u)));
+        if (!pheromoneMatrix.isSymmetric()) pheromoneMatrix.add(u, v, smoothing * (max - pheromoneMatrix.get(u, v)));
+    }
+
+    /**
+     * Recalculate the cost of the best tour by the changed costs
+     * and improve it around the affected vertices by the local search, if it is set.
+     *
+     * @param affected vertices whose edges changed
+     */
+    private void repairBestAnt(int[] affected) {
+        final Ant best = bestAnt.get();
+        if (null == best) return;
+
+        final int[] path = best.path();
+        long totalCost = 0;
+        for (int i = 0, j = 1; j < path.length; i = j++) totalCost += cost(path[i], path[j]);
+        Ant repaired = new Ant(path, totalCost);
+        final LocalSearch localSearch = this.localSearch;
+        if (null != localSearch) repaired = localSearch.improve(repaired, affected);
+        bestAnt.set(repaired);
     }
 
     /**
      * Obtain vertices which are connected with current except visited ones.
      *
-     * @param i    relative vertex
-     * @param path visited vertices
-     * @return list of vertices connected with vertex i except visited
+     * @param i       relative vertex
+     * @param visited visited vertices
+     * @param edges   buffer to write vertices connected with vertex i except visited
+     * @param weights buffer to write Tau-Eta weights of the written vertices
+     * @return number of written vertices
      */
-    protected abstract List<Integer> obtainEdges(int i, List<Integer> path);
+    protected abstract int obtainEdges(int i, VisitedSet visited, int[] edges, double[] weights);
 
     /**
      * Cost (length) of the edge (i, j).
@@ -177,36 +488,303 @@ public abstract class AntColony {
      * @return total quality of the edge (i, j)
      */
     protected double tauEta(int i, int j) {
-        return tau(pheromoneMatrix.get(i, j)) * eta(cost(i, j));
+        if (!cachesChoiceInfo()) return tau(pheromoneMatrix.get(i, j)) * eta(cost(i, j));
+
+        double[] choiceInfo = this.choiceInfo;
+        if (null == choiceInfo) choiceInfo = initChoiceInfo();
+        return choiceInfo[i * pathSize + j];
     }
 
     /**
-     * Calculate cumulative sum for edges.
+     * Weights of all edges from the vertex as ants see them when no other vertex is visited yet,
+     * e.g. to report probabilities row by row. Weights are obtained by {@link #obtainEdges},
+     * so they follow the choice rule of the colony, e.g. only candidate edges have non-zero weights.
      *
-     * @param probabilities probabilities of linked (not visited) edges
-     * @return cumulative sum for edges
+     * @param i       vertex
+     * @param weights buffer of pathSize weights to fill, the weight of the vertex itself is 0
      */
-    protected List<Probability> cumulativeSum(List<Probability> probabilities) {
-        final List<Probability> retval = new ArrayList<>();
+    public void weights(int i, double[] weights) {
+        final VisitedSet visited = new VisitedSet(pathSize);
+        visited.add(i);
+        final int[] edges = new int[pathSize];
+        final double[] edgeWeights = new double[pathSize];
+        final int count = obtainEdges(i, visited, edges, edgeWeights);
+        Arrays.fill(weights, 0, pathSize, 0);
+        for (int k = 0; k < count; k++) weights[edges[k]] = edgeWeights[k];
+    }
 
-        double sum = 0;
-        for (Probability entry : probabilities) retval.add(new Probability(sum += entry.value(), entry.edge()));
+    /**
+     * Calculate choice info on the first demand,
+     * not in the constructor since edge costs of subclasses are not available there yet.
+     *
+     * @return choice info
+     */
+    private synchronized double[] initChoiceInfo() {
+        if (null != choiceInfo) return choiceInfo;
 
-        return retval;
+        final long cells = (long) pathSize * pathSize;
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many vertices to cache choice info of all edges: " + pathSize);
+        }
+        etaCache = new double[(int) cells];
+        fillEta();
+        final double[] retval = new double[(int) cells];
+        fillChoiceInfo(retval);
+        return choiceInfo = retval;
+    }
+
+    /**
+     * Calculate eta of all edges.
+     */
+    private void fillEta() {
+        for (int i = 0; i < pathSize; i++) {
+            for (int j = 0; j < pathSize; j++) {
+                if (i != j) etaCache[i * pathSize + j] = eta(cost(i, j));
+            }
+        }
+    }
+
+    /**
+     * Prepare the colony for another graph of the same size to reuse its buffers, must not be called during the search:
+     * forget the best ant and the learnt pheromone, read all edge costs again.
+     */
+    void reset() {
+        bestAnt.set(null);
+        completedIterations = 0;
+        costChanges.clear();
+        pheromoneMatrix.clamp(1, 1, 0, pheromoneMatrix.rows());
+        pheromoneUpdate.init(this);
+        if (null != choiceInfo) fillEta();
+        refreshChoiceInfo();
+    }
+
+    /**
+     * Whether Tau-Eta of all edges is cached in two dense arrays of pathSize * pathSize elements,
+     * otherwise {@link #tauEta(int, int)} is calculated on every call.
+     * Colonies whose ants choose only among candidate edges should not cache all edges.
+     *
+     * @return true by default
+     */
+    protected boolean cachesChoiceInfo() {
+        return true;
+    }
+
+    /**
+     * Whether ants choose among all not visited vertices by their {@link #tauEta(int, int)},
+     * then tour construction reads weights directly from rows of the choice info instead of {@link #obtainEdges}.
+     *
+     * @return false by default
+     */
+    protected boolean choosesAmongAllVertices() {
+        return false;
+    }
+
+    /**
+     * @return choice info of every edge, row-major
+     */
+    double[] choiceInfo() {
+        final double[] choiceInfo = this.choiceInfo;
+        return null != choiceInfo ? choiceInfo : initChoiceInfo();
+    }
+
+    /**
+     * Recalculate choice info according to the current pheromone levels.
+     */
+    protected void refreshChoiceInfo() {
+        choiceScale = 1;
+        forEachStripe(pathSize, this::refreshChoiceInfo);
+    }
+
+    /**
+     * Pheromone influence on the edge in the scale of choice info.
+     *
+     * @param i vertex
+     * @param j vertex
+     * @return tau of the edge divided by the same factor for all edges
+     */
+    protected double choiceTau(int i, int j) {
+        return tau(pheromoneMatrix.get(i, j) / choiceScale);
+    }
+
+    /**
+     * Recalculate choice info of edges from the vertices according to the current pheromone levels.
+     *
+     * @param fromRow first vertex, inclusive
+     * @param toRow   last vertex, exclusive
+     */
+    protected void refreshChoiceInfo(int fromRow, int toRow) {
+        final double[] choiceInfo = this.choiceInfo;
+        if (null != choiceInfo) fillChoiceInfo(choiceInfo, fromRow, toRow);
+    }
+
+    /**
+     * Recalculate choice info of the edge according to its current pheromone level.
+     *
+     * @param i vertex
+     * @param j vertex
+     */
+    protected void refreshChoiceInfoOfEdge(int i, int j) {
+        final double[] choiceInfo = this.choiceInfo;
+        final int k = i * pathSize + j;
+        if (null != choiceInfo) choiceInfo[k] = choiceTau(i, j) * etaCache[k];
+    }
+
+    /**
+     * Calculate Tau-Eta of all edges.
+     *
+     * @param choiceInfo choice info to fill
+     */
+    private void fillChoiceInfo(double[] choiceInfo) {
+        fillChoiceInfo(choiceInfo, 0, pathSize);
+    }
+
+    /**
+     * Calculate Tau-Eta of edges from the vertices.
+     *
+     * @param choiceInfo choice info to fill
+     * @param fromRow    first vertex, inclusive
+     * @param toRow      last vertex, exclusive
+     */
+    private void fillChoiceInfo(double[] choiceInfo, int fromRow, int toRow) {
+        for (int i = fromRow; i < toRow; i++) {
+            final int row = i * pathSize;
+            for (int j = 0; j < pathSize; j++) {
+                if (i != j) choiceInfo[row + j] = choiceTau(i, j) * etaCache[row + j];
+            }
+        }
     }
 
     /**
-     * Update pheromone level on all edges according to ant trails.
+     * Update pheromone level according to ant trails by the pheromone update rule.
      *
      * @param ants ants after their travels.
      */
     protected void addPheromone(List<Ant> ants) {
-        pheromoneMatrix.evaporate();
+        pheromoneUpdate.update(this, ants);
+    }
+
+    /**
+     * Evaporate all edges and deposit pheromone of the ants.
+     * <p>
+     * Storage rows of the pheromone matrix are split into stripes updated in parallel:
+     * every stripe is evaporated and then receives only deposits on its own edges, bucketed by stripes beforehand,
+     * so no two threads ever write the same row.
+     * Without the after-action only choice info of the deposited edges is refreshed, see {@link #choiceScale}.
+     *
+     * @param ants         ants which deposit pheromone
+     * @param afterDeposit action on every stripe after the deposits, may be null
+     */
+    protected void evaporateAndDeposit(List<Ant> ants, StripeAction afterDeposit) {
+        final WorkerPool workers = this.workers;
+        final int rows = pheromoneMatrix.rows();
+        final int stripes = stripes(rows, workers);
+
+        // deposits are bucketed by stripes once, keeping their order, so every stripe walks only its own edges
+        int edges = 0;
+        for (Ant ant : ants) edges += Math.max(0, ant.length() - 2);
+        final int[] stripeOf = new int[edges];
+        final int[] bucketStart = new int[stripes + 1];
+        int e = 0;
+        for (Ant ant : ants) {
+            for (int k = 1; k < ant.length() - 1; k++, e++) {
+                stripeOf[e] = stripe(pheromoneMatrix.row(ant.vertex(k - 1), ant.vertex(k)), rows, stripes);
+                bucketStart[stripeOf[e] + 1]++;
+            }
+        }
+        for (int s = 0; s < stripes; s++) bucketStart[s + 1] += bucketStart[s];
+        final int[] from = new int[edges];
+        final int[] to = new int[edges];
+        final double[] amounts = new double[edges];
+        final int[] next = Arrays.copyOf(bucketStart, stripes);
+        e = 0;
         for (Ant ant : ants) {
             final double quality = quality(ant.totalCost());
-            final List<Integer> path = ant.path();
-            for (int i = 0, j = 1; j < path.size() - 1; i = j++) pheromoneMatrix.add(path.get(i), path.get(j), quality);
+            for (int k = 1; k < ant.length() - 1; k++, e++) {
+                final int slot = next[stripeOf[e]]++;
+                from[slot] = ant.vertex(k - 1);
+                to[slot] = ant.vertex(k);
+                amounts[slot] = quality;
+            }
+        }
+
+        workers.run(stripes, s -> {
+            final int fromRow = stripeStart(s, rows, stripes);
+            final int toRow = stripeStart(s + 1, rows, stripes);
+            pheromoneMatrix.evaporate(fromRow, toRow);
+            for (int k = bucketStart[s]; k < bucketStart[s + 1]; k++) pheromoneMatrix.add(from[k], to[k], amounts[k]);
+            if (null != afterDeposit) afterDeposit.apply(fromRow, toRow);
+        });
+
+        // other actions may change levels arbitrarily, uniform evaporation keeps choice info except deposited edges
+        if (null != afterDeposit || !powerTau || choiceScale * (1 - pheromoneMatrix.rho()) < MIN_CHOICE_SCALE) {
+            refreshChoiceInfo();
+            return;
         }
+        choiceScale *= 1 - pheromoneMatrix.rho();
+        for (Ant ant : ants) {
+            for (int k = 1; k < ant.length() - 1; k++) {
+                refreshChoiceInfoOfEdge(ant.vertex(k - 1), ant.vertex(k));
+                refreshChoiceInfoOfEdge(ant.vertex(k), ant.vertex(k - 1));
+            }
+        }
+    }
+
+    /**
+     * Split rows into stripes and run the action on every stripe in parallel by the workers of the search.
+     * Small number of rows is processed by the calling thread as a single stripe.
+     *
+     * @param rows   number of rows
+     * @param action action on a stripe
+     */
+    protected void forEachStripe(int rows, StripeAction action) {
+        final WorkerPool workers = this.workers;
+        final int stripes = stripes(rows, workers);
+        workers.run(stripes, s -> action.apply(stripeStart(s, rows, stripes), stripeStart(s + 1, rows, stripes)));
+    }
+
+    /**
+     * @param rows    number of rows
+     * @param workers workers to process stripes
+     * @return number of stripes the rows are split into
+     */
+    private static int stripes(int rows, WorkerPool workers) {
+        return Math.max(1, Math.min(rows / MIN_STRIPE_ROWS, STRIPES_PER_THREAD * workers.parallelism()));
+    }
+
+    /**
+     * @param stripe  stripe, the number of stripes for the end of the last one
+     * @param rows    number of rows
+     * @param stripes number of stripes
+     * @return first row of the stripe
+     */
+    private static int stripeStart(int stripe, int rows, int stripes) {
+        return (int) ((long) rows * stripe / stripes);
+    }
+
+    /**
+     * @param row     row
+     * @param rows    number of rows
+     * @param stripes number of stripes
+     * @return stripe containing the row
+     */
+    private static int stripe(int row, int rows, int stripes) {
+        int retval = (int) ((long) row * stripes / rows);
+        while (stripeStart(retval, rows, stripes) > row) retval--;
+        while (stripeStart(retval + 1, rows, stripes) <= row) retval++;
+        return retval;
+    }
+
+    /**
+     * Action on a stripe of rows.
+     */
+    @FunctionalInterface
+    protected interface StripeAction {
+
+        /**
+         * @param fromRow first row, inclusive
+         * @param toRow   last row, exclusive
+         */
+        void apply(int fromRow, int toRow);
     }
 
     /**
@@ -221,12 +799,53 @@ public abstract class AntColony {
     }
 
     /**
-     * Test if new ant is better than current the best.
+     * Test if new ant is better than current the best, lock-free.
      *
      * @param ant new ant pretended to be the best
      */
-    private synchronized void claimNewBest(Ant ant) {
-        if (null == bestAnt || compare(ant.totalCost(), bestAnt.totalCost()) < 0) bestAnt = ant;
+    private void claimNewBest(Ant ant) {
+        Ant best;
+        do {
+            best = bestAnt.get();
+            if (null != best && compare(ant.totalCost(), best.totalCost()) >= 0) return;
+        } while (!bestAnt.compareAndSet(best, ant));
+    }
+
+    /**
+     * @return ant travelled by the best (shortest) path so far, null if no ant travelled yet
+     */
+    public Ant bestAnt() {
+        return bestAnt.get();
+    }
+
+    /**
+     * Accept an ant that travelled in another colony on the same graph:
+     * it deposits pheromone on its path and may become the best ant of this colony.
+     *
+     * @param ant ant from another colony
+     */
+    public void immigrate(Ant ant) {
+        immigrate(ant, WorkerPool.commonPool());
+    }
+
+    /**
+     * Accept an ant that travelled in another colony on the same graph,
+     * refreshing choice info on the given workers.
+     *
+     * @param ant     ant from another colony
+     * @param workers workers of this colony
+     */
+    public void immigrate(Ant ant, WorkerPool workers) {
+        this.workers = workers;
+        try {
+            claimNewBest(ant);
+            final double quality = quality(ant.totalCost());
+            final int[] path = ant.path();
+            for (int i = 0, j = 1; j < path.length - 1; i = j++) pheromoneMatrix.add(path[i], path[j], quality);
+            refreshChoiceInfo();
+        } finally {
+            this.workers = WorkerPool.commonPool();
+        }
     }
 
     /**
@@ -237,15 +856,266 @@ public abstract class AntColony {
      * @return ant found the best (shortest) path
      */
     public Ant search(int threads, long iterations) {
-        for (long i = 0; i < iterations; i++) {
-            final List<Ant> ants = Collections.synchronizedList(new ArrayList<>());
-            IntStream.range(0, threads).parallel().forEach(k -> {
-                final Ant ant = trace();
-                ants.add(ant);
+        return search(threads, iterations, WorkerPool.commonPool());
+    }
+
+    /**
+     * Launch the Ant Colony to find the best (shortest) path on the dedicated workers.
+     * <p>
+     * Ants of an iteration are split into batches, one batch per worker.
+     * Tours are improved by the local search, if it is set, before pheromone update.
+     * Pheromone update between iterations runs on the same workers.
+     * Metrics of every iteration are reported to the listeners and as {@code ua.in.asilichenko.antcolony.Iteration}
+     * Flight Recorder events, the costly branching factor is calculated only if a listener or the termination criterion
+     * needs it, otherwise it is NaN in the metrics and in the events.
+     *
+     * @param ants       number of ants during one iteration
+     * @param iterations the number of iterations during which the colony will launch a bunch of ants to search
+     * @param workers    workers to trace ants and update pheromone
+     * @return ant found the best (shortest) path
+     * @throws IllegalArgumentException if the number of ants is not positive
+     */
+    public Ant search(int ants, long iterations, WorkerPool workers) {
+        requirePositiveAnts(ants);
+        if (iterations <= 0) return bestAnt.get();
+        return search(ants, workers, TerminationCriterion.iterations(iterations));
+    }
+
+    /**
+     * Launch the Ant Colony on the common pool till the termination criterion is met.
+     *
+     * @param ants        number of ants during one iteration
+     * @param termination termination criterion, e.g. a combination of a deadline and a target cost
+     * @return ant found the best (shortest) path so far
+     * @see #search(int, WorkerPool, TerminationCriterion)
+     */
+    public Ant search(int ants, TerminationCriterion termination) {
+        return search(ants, WorkerPool.commonPool(), termination);
+    }
+
+    /**
+     * Launch the Ant Colony on the dedicated workers till the termination criterion is met.
+     * <p>
+     * The criterion is checked after every iteration, its urgent part (deadline, cancellation) also before every ant:
+     * if it is met in the middle of an iteration, the rest of ants are not launched and pheromone is not updated.
+     *
+     * @param ants        number of ants during one iteration
+     * @param workers     workers to trace ants and update pheromone
+     * @param termination termination criterion, e.g. a combination of a deadline and a target cost
+     * @return ant found the best (shortest) path so far, null if the criterion was met before the first ant
+     * @throws IllegalArgumentException if the number of ants is not positive
+     */
+    public Ant search(int ants, WorkerPool workers, TerminationCriterion termination) {
+        requirePositiveAnts(ants);
+        termination.start(this);
+        this.workers = workers;
+        try {
+            final int batches = Math.min(ants, workers.parallelism());
+            while (!termination.isUrgentlyMet()) {
+                applyCostChanges();
+                final IterationEvent event = new IterationEvent();
+                event.begin();
+                final long started = System.nanoTime();
+
+                final Ant[] iterationAnts = new Ant[ants];
+                workers.run(batches, b -> {
+                    for (int k = ants * b / batches; k < ants * (b + 1) / batches; k++) {
+                        if (termination.isUrgentlyMet()) return;
+                        final Ant ant = improve(trace(), LocalSearch.Scope.EVERY_ANT);
+                        iterationAnts[k] = ant;
+                        claimNewBest(ant);
+                    }
+                });
+                if (Arrays.asList(iterationAnts).contains(null)) break;
+
+                improveIterationBest(iterationAnts);
+                final long constructed = System.nanoTime();
+                addPheromone(Arrays.asList(iterationAnts));
+                final long updated = System.nanoTime();
+
+                completedIterations++;
+                final IterationMetrics metrics = metrics(iterationAnts, constructed - started, updated - constructed,
+                        termination.needsBranchingFactor() || listenersNeedBranchingFactor());
+                if (event.isEnabled() || !listeners.isEmpty()) report(event, metrics);
+                if (termination.isMet(metrics)) break;
+            }
+            return bestAnt.get();
+        } finally {
+            this.workers = WorkerPool.commonPool();
+        }
+    }
+
+    /**
+     * @param ants number of ants during one iteration
+     * @throws IllegalArgumentException if the number of ants is not positive
+     */
+    private static void requirePositiveAnts(int ants) {
+        if (ants < 1) throw new IllegalArgumentException("Number of ants must be positive: " + ants);
+    }
+
+    /**
+     * @return whether any listener uses the branching factor
+     */
+    private boolean listenersNeedBranchingFactor() {
+        for (SearchListener listener : listeners) {
+            if (listener.needsBranchingFactor()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Calculate metrics of the iteration.
+     *
+     * @param ants              ants of the iteration
+     * @param constructionNanos time of tour construction
+     * @param updateNanos       time of pheromone update
+     * @param branching         calculate the branching factor, otherwise it is NaN
+     * @return metrics of the iteration
+     */
+    private IterationMetrics metrics(Ant[] ants, long constructionNanos, long updateNanos, boolean branching) {
+        Ant iterationBest = ants[0];
+        for (Ant ant : ants) {
+            if (compare(ant.totalCost(), iterationBest.totalCost()) < 0) iterationBest = ant;
+        }
+        return new IterationMetrics(completedIterations, ants.length,
+                constructionNanos, updateNanos,
+                iterationBest.totalCost(), bestAnt.get().totalCost(),
+                branching ? branchingFactor() : Double.NaN);
+    }
+
+    /**
+     * Report metrics of the iteration to the listeners and Flight Recorder.
+     *
+     * @param event   event of the iteration
+     * @param metrics metrics of the iteration
+     */
+    private void report(IterationEvent event, IterationMetrics metrics) {
+        for (SearchListener listener : listeners) listener.onIteration(metrics);
+        if (event.shouldCommit()) event.commit(metrics);
+    }
+
+    /**
+     * Lambda-branching factor: average number of edges per vertex whose pheromone level is not less than
+     * min + lambda * (max - min) of the levels of the vertex. Rows are processed by the workers of the search.
+     *
+     * @return branching factor, tends to 1 (a single path) when the search converges
+     */
+    protected double branchingFactor() {
+        final LongAdder branches = new LongAdder();
+        forEachStripe(pathSize, (fromRow, toRow) -> {
+            long count = 0;
+            for (int i = fromRow; i < toRow; i++) count += branches(i, BRANCHING_LAMBDA);
+            branches.add(count);
+        });
+        return branches.doubleValue() / pathSize;
+    }
+
+    /**
+     * Number of edges of the vertex whose pheromone level is not less than min + lambda * (max - min) of its edges.
+     *
+     * @param i      vertex
+     * @param lambda part of the level range
+     * @return number of branches
+     */
+    protected int branches(int i, double lambda) {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int j = 0; j < pathSize; j++) {
+            if (i == j) continue;
+            final double level = pheromoneMatrix.get(i, j);
+            min = Math.min(min, level);
+            max = Math.max(max, level);
+        }
+        final double threshold = min + lambda * (max - min);
+        int retval = 0;
+        for (int j = 0; j < pathSize; j++) {
+            if (i != j && pheromoneMatrix.get(i, j) >= threshold) retval++;
+        }
+        return retval;
+    }
+
+    /**
+     * Replace the best ant of the iteration by its improved tour if local search of the iteration best is set.
+     *
+     * @param ants ants of the iteration
+     */
+    private void improveIterationBest(Ant[] ants) {
+        final LocalSearch localSearch = this.localSearch;
+        if (null == localSearch || localSearch.scope() != LocalSearch.Scope.ITERATION_BEST) return;
+
+        int best = 0;
+        for (int k = 1; k < ants.length; k++) {
+            if (compare(ants[k].totalCost(), ants[best].totalCost()) < 0) best = k;
+        }
+        ants[best] = localSearch.improve(ants[best]);
+        claimNewBest(ants[best]);
+    }
+
+    /**
+     * Launch the Ant Colony without iteration barriers on the common pool.
+     *
+     * @param threads    number of ants per evaporation of the whole matrix
+     * @param iterations number of evaporations of the whole matrix, so {@code threads * iterations} ants in total
+     * @return ant found the best (shortest) path
+     * @see #searchAsync(int, long, WorkerPool)
+     */
+    public Ant searchAsync(int threads, long iterations) {
+        return searchAsync(threads, iterations, WorkerPool.commonPool());
+    }
+
+    /**
+     * Launch the Ant Colony without iteration barriers.
+     * <p>
+     * Workers trace ants continuously. Every ant deposits pheromone right after its trip
+     * by atomic updates, and evaporates its share of the matrix: one of {@code ants} stripes of rows,
+     * so the whole matrix is evaporated once per {@code ants} ants as in {@link #search(int, long)}.
+     * Choice info is refreshed along with the updates by plain writes, so ants may read slightly stale values.
+     * There are no iterations, so local search of the iteration best is not applied, only of every ant,
+     * and the pheromone update rule affects only tour construction, deposits always follow Ant System.
+     * Iteration metrics are not reported either, and changes of edge costs are applied only at the start.
+     *
+     * @param ants       number of ants per evaporation of the whole matrix
+     * @param iterations number of evaporations of the whole matrix, so {@code ants * iterations} ants in total
+     * @param workers    workers to trace ants
+     * @return ant found the best (shortest) path
+     * @throws IllegalArgumentException if the number of ants is not positive
+     */
+    public Ant searchAsync(int ants, long iterations, WorkerPool workers) {
+        requirePositiveAnts(ants);
+        applyCostChanges();
+        final long total = ants * iterations;
+        final AtomicLong launched = new AtomicLong();
+
+        workers.run(Math.min(ants, workers.parallelism()), w -> {
+            for (long k = launched.getAndIncrement(); k < total; k = launched.getAndIncrement()) {
+                final Ant ant = improve(trace(), LocalSearch.Scope.EVERY_ANT);
                 claimNewBest(ant);
-            });
-            addPheromone(ants);
+                addPheromoneAtomic(ant, (int) (k % ants), ants);
+            }
+        });
+        return bestAnt.get();
+    }
+
+    /**
+     * Deposit pheromone of a single ant and evaporate a stripe of the matrix,
+     * may run concurrently with other ants.
+     *
+     * @param ant     ant after its travel
+     * @param stripe  stripe to evaporate
+     * @param stripes number of stripes the matrix is split into
+     */
+    private void addPheromoneAtomic(Ant ant, int stripe, int stripes) {
+        final int rows = pheromoneMatrix.rows();
+        pheromoneMatrix.evaporateAtomic((int) ((long) rows * stripe / stripes), (int) ((long) rows * (stripe + 1) / stripes));
+
+        final double quality = quality(ant.totalCost());
+        for (int k = 1; k < ant.length() - 1; k++) {
+            final int i = ant.vertex(k - 1);
+            final int j = ant.vertex(k);
+            pheromoneMatrix.addAtomic(i, j, quality);
+            refreshChoiceInfoOfEdge(i, j);
+            refreshChoiceInfoOfEdge(j, i);
         }
-        return bestAnt;
+        refreshChoiceInfo((int) ((long) pathSize * stripe / stripes), (int) ((long) pathSize * (stripe + 1) / stripes));
     }
 }
@@ -0,0 +1,92 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
+
+import java.util.List;
+
+/**
+ * Ant Colony System.
+ * <p>
+ * Pseudo-random proportional rule: with probability q0 an ant moves along the best edge,
+ * otherwise it chooses by the roulette wheel.
+ * Local update: every edge an ant moves along loses a part of its pheromone towards the initial level,
+ * so the following ants of the iteration tend to explore other edges.
+ * Global update: only edges of the best path so far evaporate and receive pheromone,
+ * so an iteration updates a single path instead of the whole matrix.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class AntColonySystemUpdate extends PheromoneUpdate {
+
+    /**
+     * Probability to move along the best edge.
+     */
+    private final double q0;
+
+    /**
+     * Local evaporation speed.
+     */
+    private final double xi;
+
+    /**
+     * Initial pheromone level, e.g. 1 / (n * cost of the nearest neighbour tour).
+     */
+    private final double tau0;
+
+    /**
+     * @param q0   probability to move along the best edge, usually 0.9
+     * @param xi   local evaporation speed, usually 0.1
+     * @param tau0 initial pheromone level, e.g. 1 / (n * cost of the nearest neighbour tour)
+     */
+    public AntColonySystemUpdate(double q0, double xi, double tau0) {
+        this.q0 = q0;
+        this.xi = xi;
+        this.tau0 = tau0;
+    }
+
+    /**
+     * Set the initial level on all edges.
+     */
+    @Override
+    public void init(AntColony colony) {
+        final PheromoneMatrix matrix = colony.pheromoneMatrix;
+        matrix.clamp(tau0, tau0, 0, matrix.rows());
+        colony.refreshChoiceInfo();
+    }
+
+    @Override
+    public double exploitation() {
+        return q0;
+    }
+
+    @Override
+    public void localUpdate(AntColony colony, int i, int j) {
+        final PheromoneMatrix matrix = colony.pheromoneMatrix;
+        matrix.addAtomic(i, j, xi * (tau0 - matrix.get(i, j)));
+        colony.refreshChoiceInfoOfEdge(i, j);
+        colony.refreshChoiceInfoOfEdge(j, i);
+    }
+
+    @Override
+    public void update(AntColony colony, List<Ant> ants) {
+        final Ant best = colony.bestAnt();
+        if (null == best) return;
+
+        final PheromoneMatrix matrix = colony.pheromoneMatrix;
+        final double rho = matrix.rho();
+        final double quality = colony.quality(best.totalCost());
+        for (int k = 1; k < best.length() - 1; k++) {
+            final int i = best.vertex(k - 1);
+            final int j = best.vertex(k);
+            matrix.add(i, j, rho * (quality - matrix.get(i, j)));
+            colony.refreshChoiceInfoOfEdge(i, j);
+            colony.refreshChoiceInfoOfEdge(j, i);
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package ua.in.asilichenko.antcolony.service;
 
 import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.NearestNeighbours;
 import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
-
-import java.util.ArrayList;
-import java.util.List;
+import ua.in.asilichenko.antcolony.domain.VisitedSet;
 
 /**
  * Ant Colony implementation using external cost measurer or container.
  * <p>
+ * In candidate-list mode ants choose only among the nearest neighbours of the current vertex,
+ * so a step takes time proportional to the number of candidates instead of the number of vertices.
+ * <p>
  * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
  * <p>
  * License: LGPL-3.0-or-later
@@ -23,6 +25,28 @@ public class AntColonyWithCostFunction extends AntColony {
      */
     private final CostFunction costFunction;
 
+    /**
+     * Candidate lists, null if ants may choose among all vertices.
+     */
+    private final NearestNeighbours neighbours;
+
+    /**
+     * Eta of candidate edges, aligned with candidate lists.
+     * It is calculated once, only edges whose costs changed are recalculated.
+     */
+    private double[] candidateEta;
+
+    /**
+     * Tau-Eta of candidate edges, aligned with candidate lists.
+     */
+    private volatile double[] candidateChoiceInfo;
+
+    /**
+     * Whether a subclass overrides {@link #tauEta(int, int)} or {@link #obtainEdges},
+     * then ants must choose through them instead of rows of the choice info.
+     */
+    private final boolean customChoice;
+
     /**
      * @param costFunction    cost measurer
      * @param alpha           pheromone influence
@@ -35,17 +59,269 @@ public class AntColonyWithCostFunction extends AntColony {
             double alpha, double beta,
             PheromoneMatrix pheromoneMatrix,
             int pathSize) {
+        this(costFunction, alpha, beta, pheromoneMatrix, pathSize, 0);
+    }
+
+    /**
+     * @param costFunction    cost measurer
+     * @param alpha           pheromone influence
+     * @param beta            edge cost influence
+     * @param pheromoneMatrix pheromone matrix
+     * @param pathSize        number of vertices that must be visited at the path
+     * @param candidates      number of the nearest neighbours ants choose among, 0 - all vertices
+     */
+    public AntColonyWithCostFunction(
+            CostFunction costFunction,
+            double alpha, double beta,
+            PheromoneMatrix pheromoneMatrix,
+            int pathSize,
+            int candidates) {
+        this(costFunction, alpha, beta, pheromoneMatrix, pathSize,
+                candidates > 0 ? new NearestNeighbours(costFunction, pathSize, candidates) : null);
+    }
+
+    /**
+     * @param costFunction    cost measurer
+     * @param alpha           pheromone influence
+     * @param beta            edge cost influence
+     * @param pheromoneMatrix pheromone matrix
+     * @param pathSize        number of vertices that must be visited at the path
+     * @param neighbours      candidates ants choose among, null - all vertices
+     */
+    public AntColonyWithCostFunction(
+            CostFunction costFunction,
+            double alpha, double beta,
+            PheromoneMatrix pheromoneMatrix,
+            int pathSize,
+            NearestNeighbours neighbours) {
         super(alpha, beta, pheromoneMatrix, pathSize);
         this.costFunction = costFunction;
+        this.neighbours = neighbours;
+        this.customChoice = overrides(getClass(), AntColonyWithCostFunction.class, "tauEta", int.class, int.class)
+                || overrides(getClass(), AntColonyWithCostFunction.class, "obtainEdges",
+                int.class, VisitedSet.class, int[].class, double[].class);
+    }
+
+    /**
+     * In candidate-list mode only choice info of candidate edges is cached.
+     */
+    @Override
+    protected boolean cachesChoiceInfo() {
+        return null == neighbours;
+    }
+
+    /**
+     * Not if a subclass customises the choice by overriding {@link #tauEta(int, int)} or {@link #obtainEdges}.
+     */
+    @Override
+    protected boolean choosesAmongAllVertices() {
+        return null == neighbours && !customChoice;
+    }
+
+    @Override
+    protected int obtainEdges(int i, VisitedSet visited, int[] edges, double[] weights) {
+        if (null != neighbours) return obtainCandidateEdges(i, visited, edges, weights);
+
+        int count = 0;
+        for (int j = 0; j < pathSize; j++) {
+            if (j == i || visited.contains(j)) continue;
+            edges[count] = j;
+            weights[count++] = tauEta(i, j);
+        }
+        return count;
+    }
+
+    /**
+     * Obtain not visited candidates of the vertex,
+     * or the cheapest of not visited vertices if all the candidates were visited.
+     *
+     * @param i       relative vertex
+     * @param visited visited vertices
+     * @param edges   buffer to write vertices
+     * @param weights buffer to write Tau-Eta weights of the written vertices
+     * @return number of written vertices
+     */
+    private int obtainCandidateEdges(int i, VisitedSet visited, int[] edges, double[] weights) {
+        double[] choiceInfo = candidateChoiceInfo;
+        if (null == choiceInfo) choiceInfo = initCandidateChoiceInfo();
+
+        final int candidates = neighbours.count();
+        final int row = i * candidates;
+        int count = 0;
+        for (int p = 0; p < candidates; p++) {
+            final int j = neighbours.get(i, p);
+            if (visited.contains(j)) continue;
+            edges[count] = j;
+            weights[count++] = choiceInfo[row + p];
+        }
+        if (count > 0) return count;
+
+        int best = -1;
+        long bestCost = Long.MAX_VALUE;
+        for (int j = 0; j < pathSize; j++) {
+            if (j == i || visited.contains(j)) continue;
+            final long cost = cost(i, j);
+            if (best < 0 || compare(cost, bestCost) < 0) {
+                best = j;
+                bestCost = cost;
+            }
+        }
+        edges[0] = best;
+        weights[0] = 1;
+        return 1;
+    }
+
+    /**
+     * Calculate choice info of candidate edges on the first demand.
+     *
+     * @return choice info of candidate edges
+     */
+    private synchronized double[] initCandidateChoiceInfo() {
+        if (null != candidateChoiceInfo) return candidateChoiceInfo;
+
+        final int candidates = neighbours.count();
+        candidateEta = new double[pathSize * candidates];
+        fillCandidateEta();
+        final double[] retval = new double[pathSize * candidates];
+        fillCandidateChoiceInfo(retval);
+        return candidateChoiceInfo = retval;
+    }
+
+    /**
+     * Candidate lists are not rebuilt, only eta of candidate edges is recalculated.
+     */
+    @Override
+    void reset() {
+        if (null != candidateChoiceInfo) fillCandidateEta();
+        super.reset();
+    }
+
+    /**
+     * Calculate eta of all candidate edges.
+     */
+    private void fillCandidateEta() {
+        final int candidates = neighbours.count();
+        for (int i = 0; i < pathSize; i++) {
+            for (int p = 0; p < candidates; p++) candidateEta[i * candidates + p] = eta(cost(i, neighbours.get(i, p)));
+        }
+    }
+
+    /**
+     * Calculate Tau-Eta of all candidate edges.
+     *
+     * @param choiceInfo choice info of candidate edges to fill
+     */
+    private void fillCandidateChoiceInfo(double[] choiceInfo) {
+        fillCandidateChoiceInfo(choiceInfo, 0, pathSize);
+    }
+
+    /**
+     * Calculate Tau-Eta of candidate edges from the vertices.
+     *
+     * @param choiceInfo choice info of candidate edges to fill
+     * @param fromRow    first vertex, inclusive
+     * @param toRow      last vertex, exclusive
+     */
+    private void fillCandidateChoiceInfo(double[] choiceInfo, int fromRow, int toRow) {
+        final int candidates = neighbours.count();
+        for (int i = fromRow; i < toRow; i++) {
+            for (int p = 0; p < candidates; p++) {
+                final int k = i * candidates + p;
+                choiceInfo[k] = choiceTau(i, neighbours.get(i, p)) * candidateEta[k];
+            }
+        }
+    }
+
+    @Override
+    protected void refreshChoiceInfo(int fromRow, int toRow) {
+        super.refreshChoiceInfo(fromRow, toRow);
+        final double[] choiceInfo = candidateChoiceInfo;
+        if (null != choiceInfo) fillCandidateChoiceInfo(choiceInfo, fromRow, toRow);
     }
 
     @Override
-    protected List<Integer> obtainEdges(int i, List<Integer> path) {
-        final List<Integer> retval = new ArrayList<>();
-        for (int j = 0; j < pathSize; j++) if (j != i && !path.contains(j)) retval.add(j);
+    protected void refreshChoiceInfoOfEdge(int i, int j) {
+        super.refreshChoiceInfoOfEdge(i, j);
+        final double[] choiceInfo = candidateChoiceInfo;
+        if (null == choiceInfo) return;
+
+        final int p = position(i, j);
+        if (p < 0) return;
+        final int k = i * neighbours.count() + p;
+        choiceInfo[k] = choiceTau(i, j) * candidateEta[k];
+    }
+
+    /**
+     * In candidate-list mode only candidate edges are counted.
+     */
+    @Override
+    protected int branches(int i, double lambda) {
+        if (null == neighbours) return super.branches(i, lambda);
+
+        final int candidates = neighbours.count();
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int p = 0; p < candidates; p++) {
+            final double level = pheromoneMatrix.get(i, neighbours.get(i, p));
+            min = Math.min(min, level);
+            max = Math.max(max, level);
+        }
+        final double threshold = min + lambda * (max - min);
+        int retval = 0;
+        for (int p = 0; p < candidates; p++) {
+            if (pheromoneMatrix.get(i, neighbours.get(i, p)) >= threshold) retval++;
+        }
         return retval;
     }
 
+    @Override
+    protected boolean acceptsCost(long cost) {
+        return costFunction.accepts(cost);
+    }
+
+    @Override
+    protected void setCost(int i, int j, long cost) {
+        costFunction.set(i, j, cost);
+    }
+
+    @Override
+    protected void refreshEta(int i, int j) {
+        super.refreshEta(i, j);
+        if (null == candidateChoiceInfo) return;
+
+        final int p = position(i, j);
+        if (p >= 0) candidateEta[i * neighbours.count() + p] = eta(cost(i, j));
+    }
+
+    /**
+     * In candidate-list mode only candidate edges of the vertex are smoothed.
+     */
+    @Override
+    protected void smoothPheromone(int v, double smoothing) {
+        if (null == neighbours) {
+            super.smoothPheromone(v, smoothing);
+            return;
+        }
+
+        final int candidates = neighbours.count();
+        double max = 0;
+        for (int p = 0; p < candidates; p++) max = Math.max(max, pheromoneMatrix.get(v, neighbours.get(v, p)));
+        for (int p = 0; p < candidates; p++) smoothEdge(v, neighbours.get(v, p), max, smoothing);
+    }
+
+    /**
+     * @param i vertex
+     * @param j vertex
+     * @return position of j in the candidate list of i, negative if it is not a candidate
+     */
+    private int position(int i, int j) {
+        final int candidates = neighbours.count();
+        for (int p = 0; p < candidates; p++) {
+            if (neighbours.get(i, p) == j) return p;
+        }
+        return -1;
+    }
+
     @Override
     protected long cost(int i, int j) {
         return costFunction.cost(i, j);
@@ -0,0 +1,23 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+
+import java.util.List;
+
+/**
+ * Ant System: the whole matrix evaporates and every ant deposits pheromone according to the quality of its path.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class AntSystemUpdate extends PheromoneUpdate {
+
+    @Override
+    public void update(AntColony colony, List<Ant> ants) {
+        colony.evaporateAndDeposit(ants, null);
+    }
+}
@@ -0,0 +1,260 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.MatrixCostFunction;
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.DoublePheromoneMatrix;
+import ua.in.asilichenko.antcolony.tsplib.TspLibInstance;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Solver of many small instances in parallel, one instance per worker at a time.
+ * <p>
+ * Small colonies gain nothing from parallel iterations, so every instance is searched by a single thread
+ * and throughput scales across instances. Every worker keeps a colony per number of vertices:
+ * costs of an instance are copied into its cost matrix, pheromone is reset to the initial level,
+ * so the pheromone matrix, the choice info and the tour construction buffers are allocated only once per size.
+ * Pooled colonies of a worker are limited by {@link #MAX_POOLED_BYTES}, the least recently used ones are dropped.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class BatchSolver implements AutoCloseable {
+
+    /**
+     * Colonies of larger instances are not pooled, they would keep too much memory per worker.
+     */
+    private static final int MAX_POOLED_SIZE = 512;
+
+    /**
+     * Approximate memory of pooled colonies per worker.
+     */
+    private static final long MAX_POOLED_BYTES = 64L << 20;
+
+    /**
+     * Approximate memory per edge of a pooled colony: cost, pheromone level, eta and choice info.
+     */
+    private static final int BYTES_PER_EDGE = 4 * Double.BYTES;
+
+    /**
+     * Influence of pheromone level.
+     */
+    private final double alpha;
+
+    /**
+     * Influence of edge cost.
+     */
+    private final double beta;
+
+    /**
+     * Evaporation speed.
+     */
+    private final double rho;
+
+    /**
+     * Number of ants during one iteration.
+     */
+    private final int ants;
+
+    /**
+     * Number of iterations per instance.
+     */
+    private final long iterations;
+
+    /**
+     * Workers, one instance per worker at a time.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Pools of all the workers, to release them on close.
+     */
+    private final Set<ColonyPool> pools = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Colonies of the worker by number of vertices.
+     */
+    private final ThreadLocal<ColonyPool> colonies = ThreadLocal.withInitial(() -> {
+        final ColonyPool pool = new ColonyPool();
+        pools.add(pool);
+        return pool;
+    });
+
+    /**
+     * Whether the solver is closed, then colonies are no longer pooled.
+     */
+    private volatile boolean closed;
+
+    /**
+     * @param threads    number of workers
+     * @param alpha      pheromone influence
+     * @param beta       edge cost influence
+     * @param rho        evaporation speed
+     * @param ants       number of ants during one iteration
+     * @param iterations number of iterations per instance
+     */
+    public BatchSolver(int threads, double alpha, double beta, double rho, int ants, long iterations) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.rho = rho;
+        this.ants = ants;
+        this.iterations = iterations;
+
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "ant-colony-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param costs cost matrix of an instance
+     * @return ant found the best (shortest) path
+     */
+    public CompletableFuture<Ant> submit(long[][] costs) {
+        return submit(new MatrixCostFunction(costs), costs.length);
+    }
+
+    /**
+     * @param instance instance
+     * @return ant found the best (shortest) path
+     */
+    public CompletableFuture<Ant> submit(TspLibInstance instance) {
+        return submit(instance.costFunction(), instance.dimension());
+    }
+
+    /**
+     * @param costFunction edge costs of an instance, must be safe for reading by another thread
+     * @param size         number of vertices
+     * @return ant found the best (shortest) path
+     */
+    public CompletableFuture<Ant> submit(CostFunction costFunction, int size) {
+        return CompletableFuture.supplyAsync(() -> solve(costFunction, size), executor);
+    }
+
+    /**
+     * Submit all instances of the stream.
+     *
+     * @param instances cost matrices of instances
+     * @return results in the order of the instances
+     */
+    public List<CompletableFuture<Ant>> submitAll(Stream<long[][]> instances) {
+        return instances.map(this::submit).toList();
+    }
+
+    /**
+     * Search the instance by the calling worker on its pooled colony.
+     *
+     * @param costFunction edge costs of an instance
+     * @param size         number of vertices
+     * @return ant found the best (shortest) path
+     */
+    private Ant solve(CostFunction costFunction, int size) {
+        final PooledColony pooled = size <= MAX_POOLED_SIZE && !closed ? colonies.get().obtain(size) : newColony(size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) pooled.costs.set(i, j, costFunction.cost(i, j));
+        }
+        pooled.colony.reset();
+        return pooled.colony.search(ants, iterations, WorkerPool.callingThread());
+    }
+
+    /**
+     * @param size number of vertices
+     * @return colony with its own cost matrix
+     */
+    private PooledColony newColony(int size) {
+        final MatrixCostFunction costs = new MatrixCostFunction(new long[size][size]);
+        return new PooledColony(costs,
+                new AntColonyWithCostFunction(costs, alpha, beta, new DoublePheromoneMatrix(size, rho), size));
+    }
+
+    /**
+     * Stop accepting instances, submitted ones are still solved, and release pooled colonies.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdown();
+        for (ColonyPool pool : pools) pool.clear();
+        pools.clear();
+    }
+
+    /**
+     * Colony of a worker with the cost matrix it reads.
+     *
+     * @param costs  cost matrix filled by every instance
+     * @param colony colony on the cost matrix
+     */
+    private record PooledColony(MatrixCostFunction costs, AntColonyWithCostFunction colony) {
+    }
+
+    /**
+     * Colonies of a worker by number of vertices in the order of access, limited by {@link #MAX_POOLED_BYTES}.
+     * Is used by its worker only, but is cleared by {@link #close()}, so access is synchronised.
+     */
+    private final class ColonyPool {
+
+        /**
+         * Colonies by number of vertices, the least recently used first.
+         */
+        private final LinkedHashMap<Integer, PooledColony> colonies = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * Approximate memory of the pooled colonies.
+         */
+        private long bytes;
+
+        /**
+         * Obtain the colony of the size, create it and drop the least recently used colonies if it is missing.
+         *
+         * @param size number of vertices
+         * @return colony of the size
+         */
+        private synchronized PooledColony obtain(int size) {
+            PooledColony pooled = colonies.get(size);
+            if (null != pooled) return pooled;
+
+            pooled = newColony(size);
+            colonies.put(size, pooled);
+            bytes += bytes(size);
+            final Iterator<Map.Entry<Integer, PooledColony>> eldest = colonies.entrySet().iterator();
+            while (bytes > MAX_POOLED_BYTES && colonies.size() > 1) {
+                bytes -= bytes(eldest.next().getKey());
+                eldest.remove();
+            }
+            return pooled;
+        }
+
+        /**
+         * Drop all the colonies.
+         */
+        private synchronized void clear() {
+            colonies.clear();
+            bytes = 0;
+        }
+
+        /**
+         * @param size number of vertices
+         * @return approximate memory of a colony of the size
+         */
+        private static long bytes(int size) {
+            return (long) BYTES_PER_EDGE * size * size;
+        }
+    }
+}
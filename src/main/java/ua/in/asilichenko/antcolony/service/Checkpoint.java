@@ -0,0 +1,177 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Binary checkpoint of the colony state: pheromone levels, the best ant and the number of completed iterations.
+ * <p>
+ * Format, little-endian: magic "ACOC", version, number of vertices, number of stored levels,
+ * number of bytes of a level (4 or 8), completed iterations, cost of the best path (-1 if none),
+ * length of the best path, vertices of the best path, stored levels in the storage order of the pheromone matrix
+ * as floats or doubles according to the precision of the matrix.
+ * The file is streamed through a direct buffer by chunks, so checkpoints of any size need constant extra memory,
+ * and is replaced atomically, so a crash during saving keeps the previous checkpoint.
+ * <p>
+ * State of the pheromone update rule (e.g. stagnation counter of MAX-MIN Ant System) is not saved.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class Checkpoint {
+
+    /**
+     * "ACOC" in ASCII, when written little-endian.
+     */
+    private static final int MAGIC = 0x434F4341;
+
+    private static final int VERSION = 2;
+
+    /**
+     * Size of the buffer of a single I/O operation.
+     */
+    private static final int CHUNK = 1 << 20;
+
+    private Checkpoint() {
+    }
+
+    /**
+     * Save the state of the colony, must not be called during the search except by its listener.
+     *
+     * @param colony ant colony
+     * @param file   checkpoint file, is replaced atomically
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(AntColony colony, Path file) throws IOException {
+        final PheromoneMatrix matrix = colony.pheromoneMatrix;
+        write(file, colony.pathSize, colony.completedIterations(), colony.bestAnt(),
+                matrix.levelCount(), matrix.levelBytes(), matrix::level);
+    }
+
+    /**
+     * Write the state to the file.
+     *
+     * @param file                checkpoint file, is replaced atomically
+     * @param pathSize            number of vertices
+     * @param completedIterations number of completed iterations
+     * @param bestAnt             the best ant, may be null
+     * @param levelCount          number of stored levels
+     * @param levelBytes          number of bytes of a level, {@link Float#BYTES} or {@link Double#BYTES}
+     * @param level               stored level by its index
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path file, int pathSize, long completedIterations, Ant bestAnt,
+                      int levelCount, int levelBytes, IntToDoubleFunction level) throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(pathSize)
+                    .putInt(levelCount)
+                    .putInt(levelBytes)
+                    .putLong(completedIterations)
+                    .putLong(null == bestAnt ? -1 : bestAnt.totalCost());
+
+            final int[] path = null == bestAnt ? new int[0] : bestAnt.path();
+            buffer.putInt(path.length);
+            for (int vertex : path) {
+                if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+                buffer.putInt(vertex);
+            }
+            for (int k = 0; k < levelCount; k++) {
+                if (buffer.remaining() < levelBytes) flush(channel, buffer);
+                if (levelBytes == Float.BYTES) buffer.putFloat((float) level.applyAsDouble(k));
+                else buffer.putDouble(level.applyAsDouble(k));
+            }
+            flush(channel, buffer);
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restore the state of a fresh colony on the same graph with the same type of pheromone matrix.
+     *
+     * @param colony ant colony, must not be searching
+     * @param file   checkpoint file
+     * @throws IOException if the file cannot be read
+     */
+    public static void restore(AntColony colony, Path file) throws IOException {
+        final PheromoneMatrix matrix = colony.pheromoneMatrix;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN).flip();
+
+            require(channel, buffer, 5 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES);
+            if (buffer.getInt() != MAGIC) throw malformed(file, "not a checkpoint");
+            if (buffer.getInt() != VERSION) throw malformed(file, "unsupported version");
+            if (buffer.getInt() != colony.pathSize) throw malformed(file, "another number of vertices");
+            final int levelCount = buffer.getInt();
+            if (levelCount != matrix.levelCount()) throw malformed(file, "another type of pheromone matrix");
+            final int levelBytes = buffer.getInt();
+            if (levelBytes != Float.BYTES && levelBytes != Double.BYTES) throw malformed(file, "unsupported level width");
+            final long completedIterations = buffer.getLong();
+            final long bestCost = buffer.getLong();
+
+            final int[] path = new int[buffer.getInt()];
+            for (int k = 0; k < path.length; k++) {
+                require(channel, buffer, Integer.BYTES);
+                path[k] = buffer.getInt();
+            }
+            for (int k = 0; k < levelCount; k++) {
+                require(channel, buffer, levelBytes);
+                matrix.setLevel(k, levelBytes == Float.BYTES ? buffer.getFloat() : buffer.getDouble());
+            }
+            colony.restore(path.length > 0 ? new Ant(path, bestCost) : null, completedIterations);
+        }
+    }
+
+    /**
+     * Write the content of the buffer and clear it.
+     *
+     * @param channel file
+     * @param buffer  filled buffer
+     * @throws IOException if the file cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Read more of the file if the buffer has fewer bytes than required.
+     *
+     * @param channel file
+     * @param buffer  buffer ready to get
+     * @param bytes   number of required bytes
+     * @throws IOException if the file cannot be read
+     */
+    private static void require(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) throw new IllegalArgumentException("Malformed checkpoint: unexpected end of file");
+        }
+        buffer.flip();
+    }
+
+    private static IllegalArgumentException malformed(Path file, String reason) {
+        return new IllegalArgumentException("Malformed checkpoint " + file + ": " + reason);
+    }
+}
@@ -0,0 +1,104 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Island model of several independent colonies searching on the same graph.
+ * <p>
+ * Every colony (island) has its own pheromone matrix and runs on its own thread with no shared state,
+ * so islands do not synchronise with each other except migrations:
+ * every {@code migrationInterval} iterations the best ant of every island is sent to other islands
+ * according to the topology, where it deposits pheromone and may become the best ant.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class IslandModel {
+
+    /**
+     * Colonies of the islands, must not share pheromone matrices.
+     */
+    private final List<? extends AntColony> colonies;
+
+    /**
+     * Receivers of migrants.
+     */
+    private final MigrationTopology topology;
+
+    /**
+     * Number of iterations between migrations.
+     */
+    private final long migrationInterval;
+
+    /**
+     * @param colonies          colonies of the islands, must not share pheromone matrices
+     * @param topology          receivers of migrants
+     * @param migrationInterval number of iterations between migrations
+     */
+    public IslandModel(List<? extends AntColony> colonies, MigrationTopology topology, long migrationInterval) {
+        if (colonies.isEmpty()) throw new IllegalArgumentException("No colonies");
+        this.colonies = colonies;
+        this.topology = topology;
+        this.migrationInterval = Math.max(1, migrationInterval);
+    }
+
+    /**
+     * Launch all the islands, one thread per island.
+     *
+     * @param ants       number of ants of every island during one iteration
+     * @param iterations number of iterations of every island
+     * @return ant found the best (shortest) path on all the islands
+     */
+    public Ant search(int ants, long iterations) {
+        final int islands = colonies.size();
+        try (WorkerPool threads = WorkerPool.fixed(islands)) {
+            for (long done = 0; done < iterations; done += migrationInterval) {
+                final long epoch = Math.min(migrationInterval, iterations - done);
+                threads.run(islands, k -> colonies.get(k).search(ants, epoch, WorkerPool.callingThread()));
+                if (done + epoch < iterations) migrate(threads);
+            }
+        }
+        return bestAnt();
+    }
+
+    /**
+     * Send the best ant of every island to its targets,
+     * every island accepts its immigrants on its own thread.
+     *
+     * @param threads threads of the islands
+     */
+    private void migrate(WorkerPool threads) {
+        final int islands = colonies.size();
+        final List<List<Ant>> immigrants = new ArrayList<>(islands);
+        for (int k = 0; k < islands; k++) immigrants.add(new ArrayList<>());
+        for (int k = 0; k < islands; k++) {
+            final Ant migrant = colonies.get(k).bestAnt();
+            if (null == migrant) continue;
+            for (int target : topology.targets(k, islands)) immigrants.get(target).add(migrant);
+        }
+
+        threads.run(islands, k -> {
+            for (Ant ant : immigrants.get(k)) colonies.get(k).immigrate(ant, WorkerPool.callingThread());
+        });
+    }
+
+    /**
+     * @return the best ant of all the islands
+     */
+    public Ant bestAnt() {
+        final AntColony judge = colonies.get(0);
+        Ant retval = null;
+        for (AntColony colony : colonies) {
+            final Ant ant = colony.bestAnt();
+            if (null != ant && (null == retval || judge.compare(ant.totalCost(), retval.totalCost()) < 0)) retval = ant;
+        }
+        return retval;
+    }
+}
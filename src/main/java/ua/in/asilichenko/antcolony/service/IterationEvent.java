@@ -0,0 +1,69 @@
+package ua.in.asilichenko.antcolony.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a search iteration, its duration is the duration of the iteration.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+@Name("ua.in.asilichenko.antcolony.Iteration")
+@Label("Ant Colony Iteration")
+@Category("Ant Colony")
+@Description("Iteration of the ant colony search")
+final class IterationEvent extends Event {
+
+    @Label("Iteration")
+    long iteration;
+
+    @Label("Ants")
+    int ants;
+
+    @Label("Construction Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long constructionTime;
+
+    @Label("Update Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long updateTime;
+
+    @Label("Ants per Second")
+    double antsPerSecond;
+
+    @Label("Iteration Best Cost")
+    long iterationBestCost;
+
+    @Label("Global Best Cost")
+    long globalBestCost;
+
+    @Label("Branching Factor")
+    @Description("NaN unless it is needed by a listener or the termination criterion")
+    double branchingFactor;
+
+    /**
+     * Fill the event by the metrics and commit it.
+     *
+     * @param metrics measurements of the iteration
+     */
+    void commit(IterationMetrics metrics) {
+        iteration = metrics.iteration();
+        ants = metrics.ants();
+        constructionTime = metrics.constructionNanos();
+        updateTime = metrics.updateNanos();
+        antsPerSecond = metrics.antsPerSecond();
+        iterationBestCost = metrics.iterationBestCost();
+        globalBestCost = metrics.globalBestCost();
+        branchingFactor = metrics.branchingFactor();
+        commit();
+    }
+}
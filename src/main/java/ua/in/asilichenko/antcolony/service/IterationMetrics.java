@@ -0,0 +1,36 @@
+package ua.in.asilichenko.antcolony.service;
+
+/**
+ * Measurements of a single iteration of the search.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @param iteration         number of the iteration since the colony was created, starting from 1
+ * @param ants              number of ants of the iteration
+ * @param constructionNanos time of tour construction (and local search) of all the ants
+ * @param updateNanos       time of pheromone update
+ * @param iterationBestCost cost of the best path of the iteration
+ * @param globalBestCost    cost of the best path so far
+ * @param branchingFactor   average number of edges per vertex whose pheromone level is close to the maximum of the vertex,
+ *                          tends to 1 (a single path) when the search converges,
+ *                          NaN if it is needed neither by listeners nor by the termination criterion
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public record IterationMetrics(long iteration,
+                               int ants,
+                               long constructionNanos,
+                               long updateNanos,
+                               long iterationBestCost,
+                               long globalBestCost,
+                               double branchingFactor) {
+
+    /**
+     * @return throughput of the whole iteration
+     */
+    public double antsPerSecond() {
+        return ants * 1e9 / Math.max(1, constructionNanos + updateNanos);
+    }
+}
@@ -0,0 +1,420 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.NearestNeighbours;
+import ua.in.asilichenko.antcolony.domain.Ant;
+
+/**
+ * Improvement of ant tours by 2-opt and Or-opt moves till a local optimum.
+ * <p>
+ * Only moves which add an edge to one of the nearest neighbours are tried,
+ * and don't-look bits skip vertices whose surroundings did not change since their last unsuccessful try,
+ * so a pass over a tour produced by ants takes time close to linear.
+ * The tour is kept as an array with positions of vertices, 2-opt reverses the shorter side of the tour.
+ * <p>
+ * 2-opt reverses a part of the tour, so it assumes symmetric costs.
+ * Or-opt moves segments of up to {@link #MAX_SEGMENT} vertices without changing their direction,
+ * so it is the only move used for asymmetric costs.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class LocalSearch {
+
+    /**
+     * Maximum length of a segment moved by Or-opt.
+     */
+    public static final int MAX_SEGMENT = 3;
+
+    /**
+     * Ants whose tours are improved.
+     */
+    public enum Scope {
+        /**
+         * Every ant of an iteration.
+         */
+        EVERY_ANT,
+        /**
+         * The best ant of an iteration only.
+         */
+        ITERATION_BEST
+    }
+
+    /**
+     * Edge cost measurer.
+     */
+    private final CostFunction costFunction;
+
+    /**
+     * Candidates of the new edges.
+     */
+    private final NearestNeighbours neighbours;
+
+    /**
+     * Ants whose tours are improved.
+     */
+    private final Scope scope;
+
+    /**
+     * Whether 2-opt moves are allowed.
+     */
+    private final boolean symmetric;
+
+    /**
+     * Buffers of the workers.
+     */
+    private final ThreadLocal<Workspace> workspaces;
+
+    /**
+     * @param costFunction edge cost measurer, costs are symmetric
+     * @param neighbours   candidates of the new edges
+     * @param scope        ants whose tours are improved
+     */
+    public LocalSearch(CostFunction costFunction, NearestNeighbours neighbours, Scope scope) {
+        this(costFunction, neighbours, scope, true);
+    }
+
+    /**
+     * @param costFunction edge cost measurer
+     * @param neighbours   candidates of the new edges
+     * @param scope        ants whose tours are improved
+     * @param symmetric    whether costs are symmetric, otherwise only Or-opt moves are used
+     */
+    public LocalSearch(CostFunction costFunction, NearestNeighbours neighbours, Scope scope, boolean symmetric) {
+        this.costFunction = costFunction;
+        this.neighbours = neighbours;
+        this.scope = scope;
+        this.symmetric = symmetric;
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(neighbours.size()));
+    }
+
+    /**
+     * @return ants whose tours are improved
+     */
+    public Scope scope() {
+        return scope;
+    }
+
+    /**
+     * Improve the tour of the ant till no move of the neighbourhood shortens it.
+     *
+     * @param ant ant after its travel
+     * @return the same ant if its tour was not improved, otherwise a new ant with the improved tour
+     */
+    public Ant improve(Ant ant) {
+        return improve(ant, null);
+    }
+
+    /**
+     * Improve the tour of the ant starting from the vertices only, e.g. around edges whose costs changed.
+     * Don't-look bits of the rest vertices are on initially, so a few changes are repaired in nearly constant time.
+     *
+     * @param ant      ant with a good tour
+     * @param vertices vertices to try first, null - all vertices
+     * @return the same ant if its tour was not improved, otherwise a new ant with the improved tour
+     */
+    public Ant improve(Ant ant, int[] vertices) {
+        final Workspace workspace = workspaces.get();
+        final long gain = workspace.optimize(ant.path(), vertices);
+        if (gain <= 0) return ant;
+        return new Ant(workspace.path(), ant.totalCost() - gain);
+    }
+
+    /**
+     * Tour being improved and the buffers of a single worker.
+     */
+    private final class Workspace {
+
+        /**
+         * Number of vertices.
+         */
+        private final int n;
+
+        /**
+         * Vertices in the order of the tour.
+         */
+        private final int[] tour;
+
+        /**
+         * Position of every vertex in the tour.
+         */
+        private final int[] pos;
+
+        /**
+         * Circular queue of vertices to try.
+         */
+        private final int[] queue;
+
+        /**
+         * Whether a vertex is in the queue, i.e. its don't-look bit is off.
+         */
+        private final boolean[] queued;
+
+        /**
+         * Position of the first vertex of the queue.
+         */
+        private int head;
+
+        /**
+         * Number of vertices in the queue.
+         */
+        private int queueSize;
+
+        /**
+         * @param n number of vertices
+         */
+        private Workspace(int n) {
+            this.n = n;
+            this.tour = new int[n];
+            this.pos = new int[n];
+            this.queue = new int[n];
+            this.queued = new boolean[n];
+        }
+
+        /**
+         * Improve the tour by moves till a local optimum.
+         *
+         * @param path     path of an ant, the start vertex is repeated at the end
+         * @param vertices vertices to try first, null - all vertices
+         * @return total gain of all applied moves
+         */
+        private long optimize(int[] path, int[] vertices) {
+            head = 0;
+            queueSize = 0;
+            for (int k = 0; k < n; k++) {
+                tour[k] = path[k];
+                pos[path[k]] = k;
+                queued[path[k]] = false;
+            }
+            if (null == vertices) {
+                for (int k = 0; k < n; k++) push(tour[k]);
+            } else {
+                for (int v : vertices) push(v);
+            }
+
+            long gain = 0;
+            while (queueSize > 0) {
+                final int a = pop();
+                long delta = symmetric ? twoOpt(a) : 0;
+                if (delta <= 0) delta = orOpt(a);
+                if (delta > 0) {
+                    gain += delta;
+                    push(a);
+                }
+            }
+            return gain;
+        }
+
+        /**
+         * @return improved tour as a path which starts and ends with the vertex 0
+         */
+        private int[] path() {
+            final int[] retval = new int[n + 1];
+            final int start = pos[0];
+            for (int k = 0; k < n; k++) retval[k] = tour[(start + k) % n];
+            retval[n] = retval[0];
+            return retval;
+        }
+
+        /**
+         * Try 2-opt moves which add an edge from the vertex to one of its neighbours, apply the first improving one.
+         *
+         * @param a vertex
+         * @return gain of the applied move, 0 if there is no improving move
+         */
+        private long twoOpt(int a) {
+            for (int direction = 0; direction < 2; direction++) {
+                final boolean forward = direction == 0;
+                final int b = forward ? next(a) : prev(a);
+                final long ab = costFunction.cost(a, b);
+                for (int p = 0; p < neighbours.count(); p++) {
+                    final int c = neighbours.get(a, p);
+                    final long ac = costFunction.cost(a, c);
+                    if (ac >= ab) break;
+
+                    final int d = forward ? next(c) : prev(c);
+                    if (c == b || d == a) continue;
+                    final long delta = ab + costFunction.cost(c, d) - ac - costFunction.cost(b, d);
+                    if (delta <= 0) continue;
+
+                    // a b ... c d -> a c ... b d
+                    if (forward) reverse(pos[b], pos[c]);
+                    else reverse(pos[c], pos[b]);
+                    push(b);
+                    push(c);
+                    push(d);
+                    return delta;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Try Or-opt moves of segments which start or end with the vertex,
+         * placing the vertex next to one of its neighbours, apply the first improving one.
+         *
+         * @param a vertex
+         * @return gain of the applied move, 0 if there is no improving move
+         */
+        private long orOpt(int a) {
+            for (int length = 1; length <= MAX_SEGMENT && length < n - 2; length++) {
+                for (int direction = 0; direction < 2; direction++) {
+                    // segment s1 ... s2 in the tour order: a is its start inserted after a neighbour,
+                    // or its end inserted before a neighbour
+                    final boolean first = direction == 0;
+                    final int s1 = first ? a : step(a, 1 - length);
+                    final int s2 = first ? step(a, length - 1) : a;
+                    final int before = prev(s1);
+                    final int after = next(s2);
+                    final long removal = costFunction.cost(before, s1) + costFunction.cost(s2, after)
+                            - costFunction.cost(before, after);
+                    if (removal <= 0) continue;
+
+                    for (int p = 0; p < neighbours.count(); p++) {
+                        final int c = neighbours.get(a, p);
+                        if (costFunction.cost(a, c) >= removal) break;
+                        if (inSegment(c, s1, length)) continue;
+
+                        // the segment is inserted between the vertices from and to
+                        final int from = first ? c : prev(c);
+                        final int to = first ? next(c) : c;
+                        if (from == before || from == s2) continue;
+                        final long delta = removal + costFunction.cost(from, to)
+                                - costFunction.cost(from, s1) - costFunction.cost(s2, to);
+                        if (delta <= 0) continue;
+
+                        moveSegment(pos[s1], length, pos[from]);
+                        push(before);
+                        push(after);
+                        push(from);
+                        push(to);
+                        push(first ? s2 : s1);
+                        return delta;
+                    }
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @param v      vertex
+         * @param s1     first vertex of the segment
+         * @param length length of the segment
+         * @return whether the vertex is in the segment
+         */
+        private boolean inSegment(int v, int s1, int length) {
+            return Math.floorMod(pos[v] - pos[s1], n) < length;
+        }
+
+        /**
+         * Reverse the part of the tour between positions, or the rest of the tour if it is shorter.
+         * Both give the same cycle.
+         *
+         * @param from first position of the part
+         * @param to   last position of the part
+         */
+        private void reverse(int from, int to) {
+            int length = Math.floorMod(to - from, n) + 1;
+            if (2 * length > n) {
+                final int start = (to + 1) % n;
+                to = Math.floorMod(from - 1, n);
+                from = start;
+                length = n - length;
+            }
+            for (int k = 0; k < length / 2; k++) {
+                swap(from, to);
+                from = from + 1 == n ? 0 : from + 1;
+                to = to == 0 ? n - 1 : to - 1;
+            }
+        }
+
+        /**
+         * Move the segment to be after the position, keeping its direction.
+         * Shifts the shorter of the two parts of the tour between the old and the new place of the segment.
+         *
+         * @param start  first position of the segment
+         * @param length length of the segment
+         * @param target position the segment is inserted after, is out of the segment
+         */
+        private void moveSegment(int start, int length, int target) {
+            final int forward = Math.floorMod(target - start, n) - length + 1;
+            if (forward <= n - length - forward) {
+                // the part after the segment up to the target is shifted back
+                for (int k = 0; k < length; k++) rotate(Math.floorMod(start + length - 1 - k, n), forward);
+            } else {
+                // the part after the target up to the segment is shifted forward
+                for (int k = 0; k < length; k++) rotate(Math.floorMod(start + k, n), -(n - length - forward));
+            }
+        }
+
+        /**
+         * Move the vertex at the position by the distance, shifting the vertices in between by one.
+         *
+         * @param position position of the vertex
+         * @param distance positive - forward, negative - backward
+         */
+        private void rotate(int position, int distance) {
+            final int step = distance > 0 ? 1 : n - 1;
+            for (int k = Math.abs(distance); k > 0; k--) {
+                final int other = (position + step) % n;
+                swap(position, other);
+                position = other;
+            }
+        }
+
+        private void swap(int p, int q) {
+            final int v = tour[p];
+            tour[p] = tour[q];
+            tour[q] = v;
+            pos[tour[p]] = p;
+            pos[tour[q]] = q;
+        }
+
+        private int next(int v) {
+            final int p = pos[v] + 1;
+            return tour[p == n ? 0 : p];
+        }
+
+        private int prev(int v) {
+            final int p = pos[v];
+            return tour[p == 0 ? n - 1 : p - 1];
+        }
+
+        /**
+         * @param v     vertex
+         * @param steps number of steps along the tour, negative - backward
+         * @return vertex at the steps from the vertex
+         */
+        private int step(int v, int steps) {
+            return tour[Math.floorMod(pos[v] + steps, n)];
+        }
+
+        /**
+         * Turn off the don't-look bit of the vertex.
+         *
+         * @param v vertex
+         */
+        private void push(int v) {
+            if (queued[v]) return;
+            queued[v] = true;
+            queue[(head + queueSize++) % n] = v;
+        }
+
+        /**
+         * Take the next vertex and turn on its don't-look bit.
+         *
+         * @return vertex
+         */
+        private int pop() {
+            final int v = queue[head];
+            head = (head + 1) % n;
+            queueSize--;
+            queued[v] = false;
+            return v;
+        }
+    }
+}
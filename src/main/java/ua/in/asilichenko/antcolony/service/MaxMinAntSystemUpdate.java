@@ -0,0 +1,127 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
+
+import java.util.List;
+
+/**
+ * MAX-MIN Ant System.
+ * <p>
+ * The whole matrix evaporates, but only a single ant deposits pheromone: the best of the iteration or the best so far.
+ * Pheromone levels are limited to [tau_min, tau_max], where tau_max = quality(best cost) / rho
+ * and tau_min is derived from the probability pBest to construct the best path again when the search converged.
+ * When the best path is not improved for a number of iterations the search is considered stagnated
+ * and all edges are reset to tau_max.
+ * <p>
+ * Keeps the state of the search, so an instance must not be shared among colonies.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class MaxMinAntSystemUpdate extends PheromoneUpdate {
+
+    /**
+     * Deposit by the best ant so far instead of the iteration best.
+     */
+    private final boolean globalBest;
+
+    /**
+     * Probability to construct the best path when the search converged.
+     */
+    private final double pBest;
+
+    /**
+     * Number of iterations without improvement after which pheromone is reset.
+     */
+    private final int stagnation;
+
+    /**
+     * The best ant at the previous iteration.
+     */
+    private Ant lastBest;
+
+    /**
+     * Number of iterations without improvement of the best ant.
+     */
+    private int idleIterations;
+
+    /**
+     * @param globalBest deposit by the best ant so far instead of the iteration best
+     * @param pBest      probability to construct the best path when the search converged, usually 0.05
+     * @param stagnation number of iterations without improvement after which pheromone is reset
+     */
+    public MaxMinAntSystemUpdate(boolean globalBest, double pBest, int stagnation) {
+        this.globalBest = globalBest;
+        this.pBest = pBest;
+        this.stagnation = stagnation;
+    }
+
+    /**
+     * @throws IllegalArgumentException if pheromone does not evaporate, then tau_max is not finite
+     */
+    @Override
+    public void init(AntColony colony) {
+        final double rho = colony.pheromoneMatrix.rho();
+        if (!(rho > 0)) throw new IllegalArgumentException("MAX-MIN Ant System needs positive evaporation speed: " + rho);
+        restart(colony);
+    }
+
+    @Override
+    public void restart(AntColony colony) {
+        lastBest = null;
+        idleIterations = 0;
+    }
+
+    @Override
+    public void update(AntColony colony, List<Ant> ants) {
+        final Ant best = colony.bestAnt();
+        if (null == best || ants.isEmpty()) return;
+
+        final PheromoneMatrix matrix = colony.pheromoneMatrix;
+        final double tauMax = colony.quality(best.totalCost()) / matrix.rho();
+        if (best == lastBest && ++idleIterations >= stagnation) {
+            idleIterations = 0;
+            colony.forEachStripe(matrix.rows(), (fromRow, toRow) -> matrix.clamp(tauMax, tauMax, fromRow, toRow));
+            colony.refreshChoiceInfo();
+            return;
+        }
+        if (best != lastBest) idleIterations = 0;
+        lastBest = best;
+
+        final double tauMin = tauMin(tauMax, colony.pathSize);
+        final Ant depositor = globalBest ? best : iterationBest(colony, ants);
+        colony.evaporateAndDeposit(List.of(depositor), (fromRow, toRow) -> matrix.clamp(tauMin, tauMax, fromRow, toRow));
+    }
+
+    /**
+     * The lower limit at which the best path is constructed with probability pBest
+     * when its edges are at tau_max and all other edges are at tau_min.
+     *
+     * @param tauMax upper limit
+     * @param n      number of vertices
+     * @return lower limit
+     */
+    private double tauMin(double tauMax, int n) {
+        final double pDec = Math.pow(pBest, 1d / n);
+        final double avg = n / 2d - 1;
+        return avg > 0 ? Math.min(tauMax, tauMax * (1 - pDec) / (avg * pDec)) : tauMax / (2 * n);
+    }
+
+    /**
+     * @param colony ant colony
+     * @param ants   ants of the iteration
+     * @return the best ant of the iteration
+     */
+    private static Ant iterationBest(AntColony colony, List<Ant> ants) {
+        Ant retval = ants.get(0);
+        for (Ant ant : ants) {
+            if (colony.compare(ant.totalCost(), retval.totalCost()) < 0) retval = ant;
+        }
+        return retval;
+    }
+}
@@ -0,0 +1,34 @@
+package ua.in.asilichenko.antcolony.service;
+
+import java.util.stream.IntStream;
+
+/**
+ * Defines which islands receive the best ant of an island during migration.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+@FunctionalInterface
+public interface MigrationTopology {
+
+    /**
+     * Every island sends its best ant to the next one, the last island sends to the first.
+     */
+    MigrationTopology RING = (island, islands) -> islands > 1 ? new int[]{(island + 1) % islands} : new int[0];
+
+    /**
+     * Every island sends its best ant to all other islands.
+     */
+    MigrationTopology BROADCAST = (island, islands) -> IntStream.range(0, islands).filter(k -> k != island).toArray();
+
+    /**
+     * @param island  sending island
+     * @param islands number of islands
+     * @return receiving islands
+     */
+    int[] targets(int island, int islands);
+}
@@ -0,0 +1,158 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Listener which saves a checkpoint of the colony every number of iterations in background.
+ * <p>
+ * The searching thread only copies pheromone levels into a reused snapshot between iterations,
+ * the file is written by a dedicated thread. If the previous checkpoint is still being written,
+ * the next one is skipped instead of waiting for it.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class PeriodicCheckpoint implements SearchListener, AutoCloseable {
+
+    /**
+     * Colony whose state is saved.
+     */
+    private final AntColony colony;
+
+    /**
+     * Checkpoint file.
+     */
+    private final Path file;
+
+    /**
+     * Number of iterations between checkpoints.
+     */
+    private final long interval;
+
+    /**
+     * Writer of checkpoints.
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "ant-colony-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Pheromone levels of the checkpoint being written, if the matrix stores doubles.
+     */
+    private double[] snapshot = new double[0];
+
+    /**
+     * Pheromone levels of the checkpoint being written, if the matrix stores floats.
+     */
+    private float[] floatSnapshot = new float[0];
+
+    /**
+     * Checkpoint being written, null before the first one.
+     */
+    private Future<?> pending;
+
+    /**
+     * @param colony   colony whose state is saved
+     * @param file     checkpoint file
+     * @param interval number of iterations between checkpoints
+     */
+    private PeriodicCheckpoint(AntColony colony, Path file, long interval) {
+        this.colony = colony;
+        this.file = file;
+        this.interval = Math.max(1, interval);
+    }
+
+    /**
+     * Save a checkpoint of the colony every number of iterations, registered as a listener of the colony.
+     *
+     * @param colony   colony whose state is saved
+     * @param file     checkpoint file
+     * @param interval number of iterations between checkpoints
+     * @return listener to close after the search
+     */
+    public static PeriodicCheckpoint attach(AntColony colony, Path file, long interval) {
+        final PeriodicCheckpoint retval = new PeriodicCheckpoint(colony, file, interval);
+        colony.addListener(retval);
+        return retval;
+    }
+
+    @Override
+    public void onIteration(IterationMetrics metrics) {
+        if (metrics.iteration() % interval != 0) return;
+        if (null != pending && !pending.isDone()) return;
+        rethrowFailure();
+
+        final PheromoneMatrix matrix = colony.pheromoneMatrix;
+        final int levelCount = matrix.levelCount();
+        final int levelBytes = matrix.levelBytes();
+        final IntToDoubleFunction level;
+        if (levelBytes == Float.BYTES) {
+            if (floatSnapshot.length != levelCount) floatSnapshot = new float[levelCount];
+            final float[] levels = floatSnapshot;
+            for (int k = 0; k < levelCount; k++) levels[k] = (float) matrix.level(k);
+            level = k -> levels[k];
+        } else {
+            if (snapshot.length != levelCount) snapshot = new double[levelCount];
+            final double[] levels = snapshot;
+            for (int k = 0; k < levelCount; k++) levels[k] = matrix.level(k);
+            level = k -> levels[k];
+        }
+
+        final int pathSize = colony.pathSize;
+        final long iteration = metrics.iteration();
+        final Ant bestAnt = colony.bestAnt();
+        pending = writer.submit(() -> {
+            Checkpoint.write(file, pathSize, iteration, bestAnt, levelCount, levelBytes, level);
+            return null;
+        });
+    }
+
+    /**
+     * Rethrow failure of the last written checkpoint, it is done.
+     */
+    private void rethrowFailure() {
+        if (null == pending) return;
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Checkpoint failed: " + file, e.getCause());
+        }
+    }
+
+    /**
+     * Stop saving checkpoints and wait for the one being written.
+     *
+     * @throws IOException if the last checkpoint was not written
+     */
+    @Override
+    public void close() throws IOException {
+        colony.removeListener(this);
+        writer.shutdown();
+        if (null == pending) return;
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) throw cause;
+            throw new IllegalStateException("Checkpoint failed: " + file, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+
+import java.util.List;
+
+/**
+ * Rule of pheromone update of an ant colony.
+ * <p>
+ * Besides the global update after every iteration, a rule may change pheromone right after every step of an ant
+ * and make ants exploit the best edge instead of the probabilistic choice.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public abstract class PheromoneUpdate {
+
+    /**
+     * Prepare the pheromone matrix of the colony before the first iteration, does nothing by default.
+     *
+     * @param colony ant colony
+     */
+    public void init(AntColony colony) {
+    }
+
+    /**
+     * Forget the state of the previous search kept by the rule, but keep pheromone levels,
+     * e.g. after they were restored from a checkpoint. Does nothing by default.
+     *
+     * @param colony ant colony
+     */
+    public void restart(AntColony colony) {
+    }
+
+    /**
+     * Probability that an ant moves along the edge with the highest Tau-Eta instead of the roulette wheel choice.
+     *
+     * @return probability of exploitation, 0 by default
+     */
+    public double exploitation() {
+        return 0;
+    }
+
+    /**
+     * Update pheromone on the edge right after an ant moved along it, does nothing by default.
+     * Runs concurrently with other ants.
+     *
+     * @param colony ant colony
+     * @param i      vertex the ant left
+     * @param j      vertex the ant arrived to
+     */
+    public void localUpdate(AntColony colony, int i, int j) {
+    }
+
+    /**
+     * Update pheromone after an iteration.
+     *
+     * @param colony ant colony
+     * @param ants   ants of the iteration
+     */
+    public abstract void update(AntColony colony, List<Ant> ants);
+}
@@ -0,0 +1,39 @@
+package ua.in.asilichenko.antcolony.service;
+
+/**
+ * Selection kernel iterating bits of not visited vertices.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+final class ScalarSelectionKernel extends SelectionKernel {
+
+    @Override
+    double sum(double[] weights, int offset, long[] visited, int size) {
+        double retval = 0;
+        for (int word = 0; word < visited.length; word++) {
+            for (long free = free(visited, word, size); free != 0; free &= free - 1) {
+                retval += weights[offset + (word << 6) + Long.numberOfTrailingZeros(free)];
+            }
+        }
+        return retval;
+    }
+
+    @Override
+    int select(double[] weights, int offset, long[] visited, int size, double threshold) {
+        double cumulative = 0;
+        int last = -1;
+        for (int word = 0; word < visited.length; word++) {
+            for (long free = free(visited, word, size); free != 0; free &= free - 1) {
+                last = (word << 6) + Long.numberOfTrailingZeros(free);
+                cumulative += weights[offset + last];
+                if (threshold < cumulative) return last;
+            }
+        }
+        return last;
+    }
+}
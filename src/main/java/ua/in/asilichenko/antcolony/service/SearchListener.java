@@ -0,0 +1,29 @@
+package ua.in.asilichenko.antcolony.service;
+
+/**
+ * Observer of the search progress.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+@FunctionalInterface
+public interface SearchListener {
+
+    /**
+     * Called by the searching thread after pheromone update of every iteration.
+     *
+     * @param metrics measurements of the iteration
+     */
+    void onIteration(IterationMetrics metrics);
+
+    /**
+     * @return whether the listener uses the branching factor, which is costly to calculate, false by default
+     */
+    default boolean needsBranchingFactor() {
+        return false;
+    }
+}
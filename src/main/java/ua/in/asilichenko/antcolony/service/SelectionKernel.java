@@ -0,0 +1,94 @@
+package ua.in.asilichenko.antcolony.service;
+
+/**
+ * Kernel of the choice of the next vertex among all not visited vertices by a row of weights.
+ * <p>
+ * Not visited vertices are taken directly from the bits of the visited set, so the weights are not copied.
+ * The SIMD implementation is used if the {@code jdk.incubator.vector} module is present at runtime
+ * ({@code --add-modules jdk.incubator.vector}) and not disabled by {@code -Dantcolony.vector=false},
+ * otherwise the scalar one.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+abstract class SelectionKernel {
+
+    /**
+     * The best kernel available at runtime.
+     */
+    static final SelectionKernel INSTANCE = load();
+
+    /**
+     * @return SIMD kernel if the Vector API is available, otherwise scalar kernel
+     */
+    private static SelectionKernel load() {
+        if (!Boolean.parseBoolean(System.getProperty("antcolony.vector", "true"))) return new ScalarSelectionKernel();
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return new ScalarSelectionKernel();
+        try {
+            return (SelectionKernel) Class.forName(SelectionKernel.class.getPackageName() + ".VectorSelectionKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarSelectionKernel();
+        }
+    }
+
+    /**
+     * Sum of weights of not visited vertices.
+     *
+     * @param weights weights of all vertices
+     * @param offset  position of the weight of the vertex 0
+     * @param visited bits of visited vertices
+     * @param size    number of vertices
+     * @return sum of weights
+     */
+    abstract double sum(double[] weights, int offset, long[] visited, int size);
+
+    /**
+     * Roulette wheel selection: the first not visited vertex whose cumulative weight exceeds the threshold.
+     *
+     * @param weights   weights of all vertices
+     * @param offset    position of the weight of the vertex 0
+     * @param visited   bits of visited vertices
+     * @param size      number of vertices
+     * @param threshold random part of the sum of weights
+     * @return chosen vertex, the last not visited vertex if the threshold is not exceeded due to rounding
+     */
+    abstract int select(double[] weights, int offset, long[] visited, int size, double threshold);
+
+    /**
+     * Not visited vertex with the highest weight.
+     *
+     * @param weights weights of all vertices
+     * @param offset  position of the weight of the vertex 0
+     * @param visited bits of visited vertices
+     * @param size    number of vertices
+     * @return chosen vertex
+     */
+    int best(double[] weights, int offset, long[] visited, int size) {
+        int retval = -1;
+        for (int word = 0; word < visited.length; word++) {
+            for (long free = free(visited, word, size); free != 0; free &= free - 1) {
+                final int j = (word << 6) + Long.numberOfTrailingZeros(free);
+                if (retval < 0 || weights[offset + j] > weights[offset + retval]) retval = j;
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * @param visited bits of visited vertices
+     * @param word    index of the word
+     * @param size    number of vertices
+     * @return bits of not visited vertices of the word
+     */
+    static long free(long[] visited, int word, int size) {
+        final long free = ~visited[word];
+        final int tail = size - (word << 6);
+        return tail < 64 ? free & ((1L << tail) - 1) : free;
+    }
+}
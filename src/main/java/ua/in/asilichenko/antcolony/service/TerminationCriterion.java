@@ -0,0 +1,218 @@
+package ua.in.asilichenko.antcolony.service;
+
+import java.time.Duration;
+
+/**
+ * Condition to stop the search.
+ * <p>
+ * Criteria are combined by {@link #or(TerminationCriterion)}: the search stops when any of them is met.
+ * Most criteria keep the state of the search, so a criterion must not be reused by another search.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public abstract class TerminationCriterion {
+
+    /**
+     * Colony whose search is checked, bound at the start of the search.
+     */
+    AntColony colony;
+
+    /**
+     * Bind the criterion to the colony at the start of its search, so costs are compared as the colony compares them.
+     *
+     * @param colony searching colony
+     */
+    void start(AntColony colony) {
+        this.colony = colony;
+    }
+
+    /**
+     * Checked by the searching thread after every iteration.
+     *
+     * @param metrics metrics of the iteration
+     * @return true to stop the search
+     */
+    public abstract boolean isMet(IterationMetrics metrics);
+
+    /**
+     * Checked by the workers before every ant, so must be cheap. False by default.
+     *
+     * @return true to stop the search immediately, without completing the iteration
+     */
+    public boolean isUrgentlyMet() {
+        return false;
+    }
+
+    /**
+     * @return whether {@link #isMet(IterationMetrics)} uses the branching factor, which is costly to calculate
+     */
+    public boolean needsBranchingFactor() {
+        return false;
+    }
+
+    /**
+     * @param other another criterion
+     * @return criterion which is met when this or another criterion is met
+     */
+    public TerminationCriterion or(TerminationCriterion other) {
+        final TerminationCriterion self = this;
+        return new TerminationCriterion() {
+            @Override
+            void start(AntColony colony) {
+                super.start(colony);
+                self.start(colony);
+                other.start(colony);
+            }
+
+            @Override
+            public boolean isMet(IterationMetrics metrics) {
+                return self.isMet(metrics) | other.isMet(metrics);
+            }
+
+            @Override
+            public boolean isUrgentlyMet() {
+                return self.isUrgentlyMet() || other.isUrgentlyMet();
+            }
+
+            @Override
+            public boolean needsBranchingFactor() {
+                return self.needsBranchingFactor() || other.needsBranchingFactor();
+            }
+        };
+    }
+
+    /**
+     * @param iterations number of iterations
+     * @return criterion which is met after the number of iterations
+     */
+    public static TerminationCriterion iterations(long iterations) {
+        return new TerminationCriterion() {
+            private long completed;
+
+            @Override
+            public boolean isMet(IterationMetrics metrics) {
+                return ++completed >= iterations;
+            }
+        };
+    }
+
+    /**
+     * @param timeLimit wall-clock time limit counted from the creation of the criterion
+     * @return criterion which is met when the time is over, also in the middle of an iteration
+     */
+    public static TerminationCriterion timeLimit(Duration timeLimit) {
+        final long deadline = System.nanoTime() + timeLimit.toNanos();
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(IterationMetrics metrics) {
+                return isUrgentlyMet();
+            }
+
+            @Override
+            public boolean isUrgentlyMet() {
+                return System.nanoTime() - deadline >= 0;
+            }
+        };
+    }
+
+    /**
+     * @param cost acceptable cost of the path
+     * @return criterion which is met when the best path is not worse than the cost according to the colony
+     */
+    public static TerminationCriterion targetCost(long cost) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(IterationMetrics metrics) {
+                return colony.compare(metrics.globalBestCost(), cost) <= 0;
+            }
+        };
+    }
+
+    /**
+     * @param iterations number of iterations
+     * @return criterion which is met when the best path is not improved for the number of iterations
+     */
+    public static TerminationCriterion noImprovement(long iterations) {
+        return new TerminationCriterion() {
+            private boolean measured;
+            private long bestCost;
+            private long idle;
+
+            @Override
+            public boolean isMet(IterationMetrics metrics) {
+                if (!measured || colony.compare(metrics.globalBestCost(), bestCost) < 0) {
+                    measured = true;
+                    bestCost = metrics.globalBestCost();
+                    idle = 0;
+                    return false;
+                }
+                return ++idle >= iterations;
+            }
+        };
+    }
+
+    /**
+     * Stagnation: pheromone is concentrated on so few edges that ants keep building the same paths.
+     *
+     * @param branchingFactor lambda-branching factor considered as stagnation,
+     *                        e.g. 2.05 when both directions of the path edges receive pheromone
+     * @return criterion which is met when the branching factor drops to the value
+     * @see IterationMetrics#branchingFactor()
+     */
+    public static TerminationCriterion stagnation(double branchingFactor) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(IterationMetrics metrics) {
+                return metrics.branchingFactor() <= branchingFactor;
+            }
+
+            @Override
+            public boolean needsBranchingFactor() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return criterion which is met when it is cancelled from any thread
+     */
+    public static Cancellation cancellation() {
+        return new Cancellation();
+    }
+
+    /**
+     * Cooperative cancellation of the search from another thread.
+     */
+    public static final class Cancellation extends TerminationCriterion {
+
+        /**
+         * Whether the search is cancelled.
+         */
+        private volatile boolean cancelled;
+
+        private Cancellation() {
+        }
+
+        /**
+         * Stop the search as soon as the ants being traced return.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isMet(IterationMetrics metrics) {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isUrgentlyMet() {
+            return cancelled;
+        }
+    }
+}
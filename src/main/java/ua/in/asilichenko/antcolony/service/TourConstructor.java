@@ -0,0 +1,155 @@
+package ua.in.asilichenko.antcolony.service;
+
+import ua.in.asilichenko.antcolony.domain.Ant;
+import ua.in.asilichenko.antcolony.domain.VisitedSet;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tour construction engine of a single worker.
+ * <p>
+ * Keeps primitive buffers that are reused for every ant traced by the worker,
+ * so building of a path does not allocate anything except the resulting ant.
+ * When the colony chooses among all vertices, weights are read directly from the choice info by {@link SelectionKernel}.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+final class TourConstructor {
+
+    /**
+     * Kernel of the choice among all not visited vertices.
+     */
+    private static final SelectionKernel KERNEL = SelectionKernel.INSTANCE;
+
+    /**
+     * Path must contain such number of vertices.
+     */
+    private final int pathSize;
+
+    /**
+     * Path of the current ant, the start vertex is repeated at the end.
+     */
+    private final int[] path;
+
+    /**
+     * Vertices visited by the current ant.
+     */
+    private final VisitedSet visited;
+
+    /**
+     * Linked (not visited) vertices of the current step.
+     */
+    private final int[] edges;
+
+    /**
+     * Tau-Eta weights of the linked vertices of the current step.
+     */
+    private final double[] weights;
+
+    /**
+     * @param pathSize path must contain such number of vertices
+     */
+    TourConstructor(int pathSize) {
+        this.pathSize = pathSize;
+        this.path = new int[pathSize + 1];
+        this.visited = new VisitedSet(pathSize);
+        this.edges = new int[pathSize];
+        this.weights = new double[pathSize];
+    }
+
+    /**
+     * Send a single ant through a graph of the colony.
+     *
+     * @param colony ant colony
+     * @return ant returned from a trip
+     */
+    Ant construct(AntColony colony) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final PheromoneUpdate pheromoneUpdate = colony.pheromoneUpdate();
+        final double exploitation = pheromoneUpdate.exploitation();
+        final double[] choiceInfo = colony.choosesAmongAllVertices() ? colony.choiceInfo() : null;
+        long totalCost = 0;
+
+        visited.clear();
+        visited.add(0);
+        path[0] = 0;
+
+        int i = 0;
+        for (int step = 1; step < pathSize; step++) {
+            //
+            final boolean exploit = exploitation > 0 && random.nextDouble() < exploitation;
+            final int j;
+            if (null != choiceInfo) {
+                j = selectInRow(choiceInfo, i * pathSize, exploit, random.nextDouble());
+            } else {
+                final int count = colony.obtainEdges(i, visited, edges, weights);
+                j = edges[exploit ? best(count) : select(count, random.nextDouble())];
+            }
+
+            visited.add(j);
+            path[step] = j;
+            totalCost += colony.cost(i, j);
+            pheromoneUpdate.localUpdate(colony, i, j);
+            i = j;
+            //
+        }
+        path[pathSize] = 0;
+        totalCost += colony.cost(i, 0);
+        return new Ant(path, totalCost);
+    }
+
+    /**
+     * Choose among all not visited vertices by the kernel.
+     *
+     * @param choiceInfo Tau-Eta of all edges
+     * @param offset     position of the row of the current vertex
+     * @param exploit    choose the vertex with the highest weight
+     * @param random     random value in [0, 1)
+     * @return chosen vertex
+     */
+    private int selectInRow(double[] choiceInfo, int offset, boolean exploit, double random) {
+        final long[] words = visited.words();
+        if (exploit) return KERNEL.best(choiceInfo, offset, words, pathSize);
+        final double sum = KERNEL.sum(choiceInfo, offset, words, pathSize);
+        return KERNEL.select(choiceInfo, offset, words, pathSize, random * sum);
+    }
+
+    /**
+     * Exploitation: the edge with the highest weight.
+     *
+     * @param count number of linked edges
+     * @return index of the chosen edge
+     */
+    private int best(int count) {
+        int retval = 0;
+        for (int k = 1; k < count; k++) {
+            if (weights[k] > weights[retval]) retval = k;
+        }
+        return retval;
+    }
+
+    /**
+     * Roulette wheel selection: the first edge whose cumulative weight exceeds random part of the total weight.
+     *
+     * @param count  number of linked edges
+     * @param random random value in [0, 1)
+     * @return index of the chosen edge
+     */
+    private int select(int count, double random) {
+        double sum = 0;
+        for (int k = 0; k < count; k++) sum += weights[k];
+
+        final double threshold = random * sum;
+        double cumulative = 0;
+        for (int k = 0; k < count - 1; k++) {
+            cumulative += weights[k];
+            if (threshold < cumulative) return k;
+        }
+        return count - 1;
+    }
+}
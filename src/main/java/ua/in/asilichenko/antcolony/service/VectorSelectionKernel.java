@@ -0,0 +1,103 @@
+package ua.in.asilichenko.antcolony.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Selection kernel on the Vector API.
+ * <p>
+ * Weights are processed by blocks of the preferred vector size, visited vertices are masked out by their bits.
+ * Roulette wheel skips whole blocks by their sums and scans only the block where the threshold is exceeded.
+ * <p>
+ * Is loaded reflectively by {@link SelectionKernel}, only when the {@code jdk.incubator.vector} module is present.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+final class VectorSelectionKernel extends SelectionKernel {
+
+    /**
+     * Vector shape of the platform.
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Number of lanes of a vector, it divides 64, so a block never crosses a word of the visited bits.
+     */
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Bits of all lanes of a block.
+     */
+    private static final long BLOCK = (1L << LANES) - 1;
+
+    @Override
+    double sum(double[] weights, int offset, long[] visited, int size) {
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        for (int j = 0; j < size; j += LANES) {
+            final long bits = block(visited, j, size);
+            if (bits == 0) continue;
+            final VectorMask<Double> mask = VectorMask.fromLong(SPECIES, bits);
+            sum = sum.add(load(weights, offset, j, size, mask), mask);
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    @Override
+    int select(double[] weights, int offset, long[] visited, int size, double threshold) {
+        double cumulative = 0;
+        int last = -1;
+        for (int j = 0; j < size; j += LANES) {
+            long bits = block(visited, j, size);
+            if (bits == 0) continue;
+            last = j + 63 - Long.numberOfLeadingZeros(bits);
+
+            final VectorMask<Double> mask = VectorMask.fromLong(SPECIES, bits);
+            final double block = load(weights, offset, j, size, mask).reduceLanes(VectorOperators.ADD, mask);
+            if (!(threshold < cumulative + block)) {
+                cumulative += block;
+                continue;
+            }
+            for (; bits != 0; bits &= bits - 1) {
+                final int k = j + Long.numberOfTrailingZeros(bits);
+                cumulative += weights[offset + k];
+                if (threshold < cumulative) return k;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @param visited bits of visited vertices
+     * @param j       first vertex of the block
+     * @param size    number of vertices
+     * @return bits of not visited vertices of the block
+     */
+    private static long block(long[] visited, int j, int size) {
+        final long bits = ~(visited[j >>> 6] >>> (j & 63)) & BLOCK;
+        final int tail = size - j;
+        return tail < LANES ? bits & ((1L << tail) - 1) : bits;
+    }
+
+    /**
+     * Load a block of weights, the last incomplete block is loaded by the mask.
+     *
+     * @param weights weights of all vertices
+     * @param offset  position of the weight of the vertex 0
+     * @param j       first vertex of the block
+     * @param size    number of vertices
+     * @param mask    not visited vertices of the block
+     * @return weights of the block
+     */
+    private static DoubleVector load(double[] weights, int offset, int j, int size, VectorMask<Double> mask) {
+        return j + LANES <= size
+                ? DoubleVector.fromArray(SPECIES, weights, offset + j)
+                : DoubleVector.fromArray(SPECIES, weights, offset + j, mask);
+    }
+}
@@ -0,0 +1,178 @@
+package ua.in.asilichenko.antcolony.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Workers which run parallel parts of the colony search.
+ * <p>
+ * Decouples the number of ants from the actual parallelism: ants are split into batches,
+ * one batch per worker, so every colony may have its own pool sized independently of the JVM-wide common pool.
+ * Any executor may be used, e.g. {@code Executors.newVirtualThreadPerTaskExecutor()} on JDK 21+.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class WorkerPool implements AutoCloseable {
+
+    /**
+     * Workers of the JVM-wide common fork-join pool.
+     */
+    private static final WorkerPool COMMON_POOL = new WorkerPool(null, ForkJoinPool.getCommonPoolParallelism());
+
+    /**
+     * The calling thread only.
+     */
+    private static final WorkerPool CALLING_THREAD = new WorkerPool(null, 1);
+
+    /**
+     * Executor of tasks, null for the common fork-join pool.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Number of tasks to run in parallel.
+     */
+    private final int parallelism;
+
+    /**
+     * @param executor    executor of tasks, null for the common fork-join pool
+     * @param parallelism number of tasks to run in parallel
+     */
+    private WorkerPool(ExecutorService executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @return workers of the JVM-wide common fork-join pool
+     */
+    public static WorkerPool commonPool() {
+        return COMMON_POOL;
+    }
+
+    /**
+     * @return the calling thread as the single worker, tasks are run one by one
+     */
+    public static WorkerPool callingThread() {
+        return CALLING_THREAD;
+    }
+
+    /**
+     * @param executor    executor of tasks, is shut down on {@link #close()}
+     * @param parallelism number of tasks to run in parallel
+     * @return workers of the executor
+     */
+    public static WorkerPool of(ExecutorService executor, int parallelism) {
+        return new WorkerPool(executor, parallelism);
+    }
+
+    /**
+     * @param threads number of platform threads
+     * @return workers of a fixed thread pool of daemon threads
+     */
+    public static WorkerPool fixed(int threads) {
+        final AtomicInteger counter = new AtomicInteger();
+        return new WorkerPool(Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "ant-colony-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }), threads);
+    }
+
+    /**
+     * @param parallelism number of threads
+     * @return workers of a dedicated fork-join pool
+     */
+    public static WorkerPool forkJoin(int parallelism) {
+        return new WorkerPool(new ForkJoinPool(parallelism), parallelism);
+    }
+
+    /**
+     * @return number of tasks to run in parallel
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Run tasks in parallel and wait for all of them.
+     * A single task, or all tasks of the calling thread pool, are run by the calling thread.
+     * If a task fails, tasks which have not started yet are skipped, and the failure is rethrown
+     * only after all started tasks are finished, so none of them outlives the call.
+     * Must not be called from a task of the same pool.
+     *
+     * @param tasks number of tasks
+     * @param task  task by its number
+     */
+    public void run(int tasks, IntConsumer task) {
+        if (tasks == 1 || this == CALLING_THREAD) {
+            for (int k = 0; k < tasks; k++) task.accept(k);
+            return;
+        }
+
+        final ExecutorService executor = null == this.executor ? ForkJoinPool.commonPool() : this.executor;
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Future<?>> futures = new ArrayList<>(tasks);
+        for (int k = 0; k < tasks; k++) {
+            final int number = k;
+            futures.add(executor.submit(() -> {
+                if (failed.get()) return;
+                try {
+                    task.accept(number);
+                } catch (RuntimeException | Error e) {
+                    failed.set(true);
+                    throw e;
+                }
+            }));
+        }
+        awaitAll(futures);
+    }
+
+    /**
+     * Wait for all the tasks, also when interrupted, and rethrow the first failure.
+     *
+     * @param futures tasks
+     */
+    private static void awaitAll(List<Future<?>> futures) {
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (null == failure) failure = e.getCause();
+                    break;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        if (failure instanceof RuntimeException cause) throw cause;
+        if (failure instanceof Error cause) throw cause;
+        if (null != failure) throw new IllegalStateException(failure);
+    }
+
+    /**
+     * Shut down the executor, the common pool is never shut down.
+     */
+    @Override
+    public void close() {
+        if (null != executor) executor.shutdown();
+    }
+}
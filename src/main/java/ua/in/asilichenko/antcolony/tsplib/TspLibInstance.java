@@ -0,0 +1,20 @@
+package ua.in.asilichenko.antcolony.tsplib;
+
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+
+/**
+ * Instance of the travelling salesman problem loaded from a TSPLIB file.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ *
+ * @param name         name of the instance
+ * @param dimension    number of vertices
+ * @param costFunction edge costs
+ */
+public record TspLibInstance(String name, int dimension, CostFunction costFunction) {
+}
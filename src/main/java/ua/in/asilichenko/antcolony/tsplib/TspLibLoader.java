@@ -0,0 +1,338 @@
+package ua.in.asilichenko.antcolony.tsplib;
+
+import ua.in.asilichenko.antcolony.cost.AttCostFunction;
+import ua.in.asilichenko.antcolony.cost.CeilEuclideanCostFunction;
+import ua.in.asilichenko.antcolony.cost.CostFunction;
+import ua.in.asilichenko.antcolony.cost.EuclideanCostFunction;
+import ua.in.asilichenko.antcolony.cost.FlatCostFunction;
+import ua.in.asilichenko.antcolony.cost.GeoCostFunction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loader of TSPLIB .tsp/.atsp files.
+ * <p>
+ * The file is memory-mapped and numbers are parsed directly from its bytes,
+ * only the keywords and values of the specification part become Strings.
+ * <p>
+ * Supported edge weight types: EUC_2D, CEIL_2D, GEO, ATT (NODE_COORD_SECTION)
+ * and EXPLICIT with any EDGE_WEIGHT_FORMAT (EDGE_WEIGHT_SECTION).
+ * Explicit weights are read twice: the first pass finds their range, the second one fills
+ * the narrowest storage of {@link FlatCostFunction#narrowest}, so no intermediate matrix is built.
+ * The storage keeps the headroom of its width, so weights may be changed later, e.g. by traffic updates.
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public class TspLibLoader {
+
+    /**
+     * Powers of ten which are represented by double exactly.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Mantissas up to this value are represented by double exactly.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Content of the file.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Size of the content.
+     */
+    private final int limit;
+
+    /**
+     * Current position in the content.
+     */
+    private int pos = 0;
+
+    private String name = "";
+    private int dimension = -1;
+    private String edgeWeightType = "";
+    private String edgeWeightFormat = "";
+
+    /**
+     * @param buffer content of the file
+     */
+    private TspLibLoader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Load TSPLIB instance from the file.
+     *
+     * @param file .tsp or .atsp file
+     * @return loaded instance
+     * @throws IOException if the file cannot be read
+     */
+    public static TspLibInstance load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new TspLibLoader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())).parse();
+        }
+    }
+
+    /**
+     * Parse specification part and the data section needed for the edge weight type.
+     *
+     * @return loaded instance
+     */
+    private TspLibInstance parse() {
+        while (skipWhitespace()) {
+            final String keyword = readKeyword();
+            switch (keyword) {
+                case "NODE_COORD_SECTION" -> {
+                    return new TspLibInstance(name, dimension, readCoordinates());
+                }
+                case "EDGE_WEIGHT_SECTION" -> {
+                    return new TspLibInstance(name, dimension, readEdgeWeights());
+                }
+                case "EOF" -> throw malformed("no data section");
+                default -> readSpecification(keyword, readValue());
+            }
+        }
+        throw malformed("no data section");
+    }
+
+    /**
+     * Remember value of the specification keyword.
+     *
+     * @param keyword keyword
+     * @param value   value
+     */
+    private void readSpecification(String keyword, String value) {
+        switch (keyword) {
+            case "NAME" -> name = value;
+            case "DIMENSION" -> dimension = Integer.parseInt(value);
+            case "EDGE_WEIGHT_TYPE" -> edgeWeightType = value;
+            case "EDGE_WEIGHT_FORMAT" -> edgeWeightFormat = value;
+            default -> {
+                // TYPE, COMMENT, CAPACITY, NODE_COORD_TYPE, DISPLAY_DATA_TYPE do not affect edge costs
+            }
+        }
+    }
+
+    /**
+     * Read NODE_COORD_SECTION and create a cost function calculating costs from coordinates.
+     *
+     * @return cost function
+     */
+    private CostFunction readCoordinates() {
+        requireDimension();
+        final double[] x = new double[dimension];
+        final double[] y = new double[dimension];
+        for (int k = 0; k < dimension; k++) {
+            final int i = (int) readNumber() - 1;
+            x[i] = readNumber();
+            y[i] = readNumber();
+        }
+        return switch (edgeWeightType) {
+            case "EUC_2D" -> new EuclideanCostFunction(x, y);
+            case "CEIL_2D" -> new CeilEuclideanCostFunction(x, y);
+            case "GEO" -> new GeoCostFunction(x, y);
+            case "ATT" -> new AttCostFunction(x, y);
+            default -> throw malformed("unsupported EDGE_WEIGHT_TYPE " + edgeWeightType);
+        };
+    }
+
+    /**
+     * Read EDGE_WEIGHT_SECTION according to EDGE_WEIGHT_FORMAT.
+     * All formats except FULL_MATRIX describe symmetric costs, they are stored as a packed triangle.
+     *
+     * @return cost function
+     */
+    private CostFunction readEdgeWeights() {
+        requireDimension();
+        if (!"EXPLICIT".equals(edgeWeightType)) throw malformed("unsupported EDGE_WEIGHT_TYPE " + edgeWeightType);
+
+        final int start = pos;
+        final long[] range = {Long.MAX_VALUE, Long.MIN_VALUE};
+        readEdgeWeights((i, j, weight) -> {
+            range[0] = Math.min(range[0], weight);
+            range[1] = Math.max(range[1], weight);
+        });
+
+        pos = start;
+        final CostFunction costs = FlatCostFunction.narrowest(dimension, range[0], range[1],
+                !"FULL_MATRIX".equals(edgeWeightFormat));
+        readEdgeWeights(costs::set);
+        return costs;
+    }
+
+    /**
+     * Read all weights of EDGE_WEIGHT_SECTION.
+     *
+     * @param consumer receiver of the weights
+     */
+    private void readEdgeWeights(WeightConsumer consumer) {
+        final int n = dimension;
+        switch (edgeWeightFormat) {
+            case "FULL_MATRIX" -> {
+                for (int i = 0; i < n; i++) for (int j = 0; j < n; j++) consumer.accept(i, j, readWeight());
+            }
+            case "UPPER_ROW", "LOWER_COL" -> {
+                for (int i = 0; i < n; i++) for (int j = i + 1; j < n; j++) consumer.accept(i, j, readWeight());
+            }
+            case "LOWER_ROW", "UPPER_COL" -> {
+                for (int i = 0; i < n; i++) for (int j = 0; j < i; j++) consumer.accept(i, j, readWeight());
+            }
+            case "UPPER_DIAG_ROW", "LOWER_DIAG_COL" -> {
+                for (int i = 0; i < n; i++) for (int j = i; j < n; j++) consumer.accept(i, j, readWeight());
+            }
+            case "LOWER_DIAG_ROW", "UPPER_DIAG_COL" -> {
+                for (int i = 0; i < n; i++) for (int j = 0; j <= i; j++) consumer.accept(i, j, readWeight());
+            }
+            default -> throw malformed("unsupported EDGE_WEIGHT_FORMAT " + edgeWeightFormat);
+        }
+    }
+
+    /**
+     * Receiver of edge weights.
+     */
+    @FunctionalInterface
+    private interface WeightConsumer {
+
+        /**
+         * @param i      vertex
+         * @param j      vertex
+         * @param weight weight of (i, j) edge
+         */
+        void accept(int i, int j, long weight);
+    }
+
+    private void requireDimension() {
+        if (dimension <= 0) throw malformed("DIMENSION is missing");
+    }
+
+    /**
+     * @return edge weight rounded to integer
+     */
+    private long readWeight() {
+        return Math.round(readNumber());
+    }
+
+    /**
+     * Parse a decimal number from bytes.
+     *
+     * @return parsed number
+     */
+    private double readNumber() {
+        if (!skipWhitespace()) throw malformed("unexpected end of file");
+        final int start = pos;
+
+        boolean negative = false;
+        byte b = buffer.get(pos);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean hasDigits = false;
+        boolean fraction = false;
+        for (; pos < limit; pos++) {
+            b = buffer.get(pos);
+            if (b >= '0' && b <= '9') {
+                hasDigits = true;
+                if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (fraction) exponent--;
+                } else {
+                    exact = false;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (!hasDigits) throw malformed("number expected at byte " + start);
+
+        if (pos < limit && (buffer.get(pos) == 'e' || buffer.get(pos) == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < limit && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+                negativeExponent = buffer.get(pos++) == '-';
+            }
+            int e = 0;
+            for (; pos < limit && (b = buffer.get(pos)) >= '0' && b <= '9'; pos++) e = e * 10 + (b - '0');
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (!exact || exponent < -22 || exponent > 22) return Double.parseDouble(text(start, pos));
+        final double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Read a keyword of the specification part or a section name.
+     *
+     * @return keyword
+     */
+    private String readKeyword() {
+        final int start = pos;
+        while (pos < limit && !isWhitespace(buffer.get(pos)) && buffer.get(pos) != ':') pos++;
+        return text(start, pos);
+    }
+
+    /**
+     * Read a value of the specification keyword till the end of line.
+     *
+     * @return trimmed value without a colon
+     */
+    private String readValue() {
+        while (pos < limit && (buffer.get(pos) == ' ' || buffer.get(pos) == '\t')) pos++;
+        if (pos < limit && buffer.get(pos) == ':') pos++;
+        final int start = pos;
+        while (pos < limit && buffer.get(pos) != '\n' && buffer.get(pos) != '\r') pos++;
+        return text(start, pos).trim();
+    }
+
+    /**
+     * Move the position to the next non-whitespace byte.
+     *
+     * @return false if the end of file is reached
+     */
+    private boolean skipWhitespace() {
+        while (pos < limit && isWhitespace(buffer.get(pos))) pos++;
+        return pos < limit;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * @param from start position, inclusive
+     * @param to   end position, exclusive
+     * @return text of the content between positions
+     */
+    private String text(int from, int to) {
+        final byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private IllegalArgumentException malformed(String reason) {
+        return new IllegalArgumentException("Malformed TSPLIB file " + name + ": " + reason);
+    }
+}
@@ -0,0 +1,308 @@
+package ua.in.asilichenko.antcolony.util;
+
+import ua.in.asilichenko.antcolony.domain.PheromoneMatrix;
+import ua.in.asilichenko.antcolony.service.AntColony;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Streaming reports of pheromone levels and probabilities of large colonies.
+ * <p>
+ * Rows are produced one by one into a reused buffer and written right away,
+ * so a report needs memory proportional to the number of vertices, not to its square,
+ * and numbers are formatted by hand into a reused char buffer without {@link String#format}.
+ * <p>
+ * Formats:
+ * <ul>
+ *     <li>CSV - a line of values per row with {@link #DECIMALS} decimal places;</li>
+ *     <li>binary - little-endian magic "ACOM", version, number of vertices, then rows of float values;</li>
+ *     <li>top-k CSV - lines "row,column,value" with the k largest values of every row in descending order.</li>
+ * </ul>
+ * <p>
+ * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
+ * <p>
+ * License: LGPL-3.0-or-later
+ *
+ * @author Oleksii Sylichenko (a.silichenko@gmail.com)
+ * Creation date: 18.10.2026
+ */
+public final class MatrixReport {
+
+    /**
+     * Decimal places of CSV values.
+     */
+    public static final int DECIMALS = 4;
+
+    /**
+     * "ACOM" in ASCII, when written little-endian.
+     */
+    private static final int MAGIC = 0x4D4F4341;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the output buffers.
+     */
+    private static final int CHUNK = 1 << 16;
+
+    /**
+     * Values of the CSV are rounded to this scale.
+     */
+    private static final long SCALE = 10_000;
+
+    /**
+     * Values whose scaled magnitude does not fit long precisely are formatted by {@link Double#toString}.
+     */
+    private static final double MAX_FIXED = 1e14;
+
+    private MatrixReport() {
+    }
+
+    /**
+     * Source of a square matrix produced row by row.
+     */
+    public interface Rows {
+
+        /**
+         * @return number of rows and columns
+         */
+        int size();
+
+        /**
+         * @param i   row
+         * @param row buffer of size values to fill
+         */
+        void fill(int i, double[] row);
+    }
+
+    /**
+     * @param matrix pheromone matrix
+     * @return pheromone levels of all edges
+     */
+    public static Rows pheromoneLevels(PheromoneMatrix matrix) {
+        return new Rows() {
+            @Override
+            public int size() {
+                return matrix.size();
+            }
+
+            @Override
+            public void fill(int i, double[] row) {
+                for (int j = 0; j < row.length; j++) row[j] = matrix.get(i, j);
+            }
+        };
+    }
+
+    /**
+     * @param colony ant colony
+     * @param size   number of vertices
+     * @return probabilities to choose every edge from its vertex when no vertex is visited
+     */
+    public static Rows probabilities(AntColony colony, int size) {
+        return new Rows() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void fill(int i, double[] row) {
+                colony.weights(i, row);
+                double sum = 0;
+                for (double weight : row) sum += weight;
+                if (sum > 0) for (int j = 0; j < row.length; j++) row[j] /= sum;
+            }
+        };
+    }
+
+    /**
+     * Write the matrix as CSV.
+     *
+     * @param rows   matrix
+     * @param writer output, is not closed
+     * @throws IOException if the output fails
+     */
+    public static void writeCsv(Rows rows, Writer writer) throws IOException {
+        final int size = rows.size();
+        final double[] row = new double[size];
+        final CharOutput out = new CharOutput(writer);
+        for (int i = 0; i < size; i++) {
+            rows.fill(i, row);
+            for (int j = 0; j < size; j++) {
+                if (j > 0) out.append(',');
+                out.appendFixed(row[j]);
+            }
+            out.append('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Write the k largest values of every row as CSV lines "row,column,value".
+     *
+     * @param rows   matrix
+     * @param k      number of values per row
+     * @param writer output, is not closed
+     * @throws IOException if the output fails
+     */
+    public static void writeTopCsv(Rows rows, int k, Writer writer) throws IOException {
+        final int size = rows.size();
+        final double[] row = new double[size];
+        final int[] top = new int[Math.max(0, Math.min(k, size))];
+        final CharOutput out = new CharOutput(writer);
+        for (int i = 0; i < size; i++) {
+            rows.fill(i, row);
+            final int count = top(row, top);
+            for (int p = 0; p < count; p++) {
+                out.appendInt(i);
+                out.append(',');
+                out.appendInt(top[p]);
+                out.append(',');
+                out.appendFixed(row[top[p]]);
+                out.append('\n');
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Select the largest values of the row by insertion into the sorted buffer.
+     *
+     * @param row values
+     * @param top buffer to write columns of the largest values in descending order of values
+     * @return number of written columns
+     */
+    private static int top(double[] row, int[] top) {
+        int found = 0;
+        for (int j = 0; j < row.length; j++) {
+            final double value = row[j];
+            if (found == top.length && (found == 0 || value <= row[top[found - 1]])) continue;
+
+            int p = found < top.length ? found++ : top.length - 1;
+            for (; p > 0 && row[top[p - 1]] < value; p--) top[p] = top[p - 1];
+            top[p] = j;
+        }
+        return found;
+    }
+
+    /**
+     * Write the matrix in the binary format.
+     *
+     * @param rows   matrix
+     * @param output output, is not closed
+     * @throws IOException if the output fails
+     */
+    public static void writeBinary(Rows rows, OutputStream output) throws IOException {
+        final int size = rows.size();
+        final double[] row = new double[size];
+        final ByteBuffer buffer = ByteBuffer.allocate(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(size);
+        for (int i = 0; i < size; i++) {
+            rows.fill(i, row);
+            for (double value : row) {
+                if (buffer.remaining() < Float.BYTES) flush(buffer, output);
+                buffer.putFloat((float) value);
+            }
+        }
+        flush(buffer, output);
+    }
+
+    /**
+     * Write the content of the buffer and clear it.
+     *
+     * @param buffer filled heap buffer
+     * @param output output
+     * @throws IOException if the output fails
+     */
+    private static void flush(ByteBuffer buffer, OutputStream output) throws IOException {
+        output.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    /**
+     * Reused char buffer in front of a writer.
+     */
+    private static final class CharOutput {
+
+        /**
+         * Output.
+         */
+        private final Writer writer;
+
+        /**
+         * Buffered chars.
+         */
+        private final char[] chars = new char[CHUNK];
+
+        /**
+         * Number of buffered chars.
+         */
+        private int length;
+
+        /**
+         * @param writer output
+         */
+        private CharOutput(Writer writer) {
+            this.writer = writer;
+        }
+
+        private void append(char c) throws IOException {
+            if (length == chars.length) flush();
+            chars[length++] = c;
+        }
+
+        /**
+         * @param value non-negative or negative integer
+         */
+        private void appendInt(long value) throws IOException {
+            if (value < 0) {
+                append('-');
+                value = -value;
+            }
+            appendDigits(value, 1);
+        }
+
+        /**
+         * Append the value rounded to {@link MatrixReport#DECIMALS} decimal places.
+         *
+         * @param value value
+         */
+        private void appendFixed(double value) throws IOException {
+            if (!(Math.abs(value) < MAX_FIXED)) {
+                final String text = Double.toString(value);
+                for (int k = 0; k < text.length(); k++) append(text.charAt(k));
+                return;
+            }
+            final long scaled = Math.round(Math.abs(value) * SCALE);
+            if (value < 0 && scaled != 0) append('-');
+            appendDigits(scaled / SCALE, 1);
+            append('.');
+            appendDigits(scaled % SCALE, DECIMALS);
+        }
+
+        /**
+         * @param value     non-negative number
+         * @param minDigits number of digits to pad by leading zeros to
+         */
+        private void appendDigits(long value, int minDigits) throws IOException {
+            if (length + 20 > chars.length) flush();
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) digits++;
+            digits = Math.max(digits, minDigits);
+            for (int k = length + digits - 1; k >= length; k--) {
+                chars[k] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+        }
+
+        private void flush() throws IOException {
+            writer.write(chars, 0, length);
+            length = 0;
+        }
+    }
+}
@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Human-readable matrices of small colonies, large ones are reported by {@link MatrixReport}.
+ * <p>
  * Copyright (C) 2022 Oleksii Sylichenko (a.silichenko@gmail.com)
  * <p>
  * License: LGPL-3.0-or-later